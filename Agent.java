@@ -7,17 +7,20 @@ package org.finalproject.system;
 
 	public class Agent extends Person implements Serializable {
 
+	  private static final long serialVersionUID = -8280285957208438565L;
 
 	  //private String name;
 	  //private String email;
 	  //private int phoneNumber;
 	  private ArrayList<House> properties;
 	  private ArrayList<Event> events;
+	  private ScheduleIndex schedule;      // this agent's events by time, no overlaps
 
 	  public Agent() {
 	    super();
 	    this.properties = new ArrayList<House>();
 	    this.events = new ArrayList<Event>();
+	    this.schedule = new ScheduleIndex();
 	    
 	  }
 
@@ -25,12 +28,24 @@ package org.finalproject.system;
 	    super(name, email, phone, username, password);
 	    this.properties = new ArrayList<House>();
 	    this.events = new ArrayList<Event>();
+	    this.schedule = new ScheduleIndex();
 	  }
 
 
 
 	  
 
+	// Snapshots get a copy without the password (CredentialStore has the hash
+	// that login checks); the name doubles as the username, as in Login.
+	private Object writeReplace() {
+	  if (getPassword() == null) return this;
+	  Agent copy = new Agent(getName(), getEmail(), getPhone(), getName(), null);
+	  copy.properties = properties;
+	  copy.events = events;
+	  copy.schedule = schedule;
+	  return copy;
+	}
+
 	public ArrayList<House> getProperties() {
 	        return properties;
 	}
@@ -43,45 +58,122 @@ package org.finalproject.system;
 	public void addProperty(House house) {
 	  if (house != null && !this.properties.contains(house)){
 	    this.properties.add(house);
+	    recordProperty(house);
+	    ModelEvents.getInstance().fireHouseAdded(this, house);
 	  }
 	}
 
+	// journal the full house so replay can rebuild it (or reuse a shared one by address)
+	private void recordProperty(House house) {
+	  if (!PersistenceEngine.isActive()) return;
+	  List<String> fields = new ArrayList<>();
+	  fields.add(this.getName());
+	  fields.add(house.getAddress());
+	  fields.add(String.valueOf(house.getPrice()));
+	  fields.add(String.valueOf(house.getSqft()));
+	  fields.add(String.valueOf(house.getBeds()));
+	  fields.add(String.valueOf(house.getBaths()));
+	  fields.add(String.valueOf(house.getYearBuilt()));
+	  fields.add(house.getDescription());
+	  fields.addAll(house.getImagePaths());
+	  PersistenceEngine.record(JournalEntry.Type.ADD_PROPERTY, fields.toArray(new String[0]));
+	}
+
+	public List<Event> getEvents() {
+	        return new ArrayList<>(events);
+	}
+
+	public Event createEvent(House house,
+	                           LocalDateTime startTime,
+	                           int capacity,
+	                           int checkInCode) {
+	      return createEvent(house, startTime, Event.DEFAULT_DURATION_MINUTES, capacity, checkInCode);
+	  }
+
+	// Returns null if the agent or the house already has something in that slot
 	public Event createEvent(House house,
 	                           LocalDateTime startTime,
+	                           int durationMinutes,
 	                           int capacity,
 	                           int checkInCode) {
+	      return createEvent(house, startTime, durationMinutes, capacity, checkInCode,
+	          IdAllocator.getInstance().nextId());
+	  }
+
+	// replay passes the id from the journal so later entries still find the event
+	Event createEvent(House house,
+	                    LocalDateTime startTime,
+	                    int durationMinutes,
+	                    int capacity,
+	                    int checkInCode,
+	                    long id) {
+
+	      Event conflict = findConflict(house, startTime, durationMinutes);
+	      if (conflict != null) {
+	        ModelMessages.println("There is already an event at this time: "
+	            + conflict.getEventId() + " at " + conflict.getAddress());
+	        return null;
+	      }
 
-	      String eventId = "EVT-" + (events.size() + 1);
-	      Event event = new Event(eventId, startTime, this,           house, capacity, checkInCode);
+	      // globally unique, so two agents' events can't be mistaken for each other
+	      String eventId = "EVT-" + IdAllocator.toString(id);
+	      Event event = new Event(id, eventId, startTime, durationMinutes, this, house, capacity, checkInCode);
 	      events.add(event);
+	      schedule.add(event);
 	      house.addEvent(event);
+	      EventRegistry.getInstance().register(event);
+	      PersistenceEngine.record(JournalEntry.Type.CREATE_EVENT,
+	          this.getName(), house.getAddress(), startTime.toString(),
+	          String.valueOf(capacity), String.valueOf(checkInCode),
+	          String.valueOf(event.getDurationMinutes()), Long.toString(id));
+	      ModelEvents.getInstance().fireEventAdded(event);
 	      return event;
 	  }
 
+	/** The agent's or the house's event that overlaps this slot, or null if it's free. */
+	public Event findConflict(House house, LocalDateTime startTime, int durationMinutes) {
+	  if (startTime == null) return null;
+	  if (durationMinutes <= 0) durationMinutes = Event.DEFAULT_DURATION_MINUTES;
+	  LocalDateTime endTime = startTime.plusMinutes(durationMinutes);
 
+	  Event conflict = schedule.findConflict(startTime, endTime);
+	  if (conflict == null && house != null) {
+	    conflict = house.getSchedule().findConflict(startTime, endTime);
+	  }
+	  return conflict;
+	}
+
+	ScheduleIndex getSchedule() {
+	  return schedule;
+	}
+
+	/** Gaps in this agent's calendar between from and to. */
+	public List<ScheduleIndex.Slot> getFreeSlots(LocalDateTime from, LocalDateTime to) {
+	  return schedule.freeSlots(from, to);
+	}
 
 	  
 	public void addEvent(Event event) {  //Action USE 1
-	  if (event != null && !this.events.contains(event)){
-	    for (Event e : this.events){
-	      if (event.getTime() == e.getTime()){
-	        System.out.println("There is already an event at this time.");
-	        return;
-	      }
-	    }
-	    this.events.add(event);
-	  } else {
-	    System.out.println("Invalid event or event already exists.");
+	  if (event == null || schedule.contains(event)) {
+	    ModelMessages.println("Invalid event or event already exists.");
+	    return;
+	  }
+	  if (!schedule.add(event)) {
+	    ModelMessages.println("There is already an event at this time.");
+	    return;
 	  }
+	  this.events.add(event);
+	  EventRegistry.getInstance().register(event);
+	  ModelEvents.getInstance().fireEventAdded(event);
 	}
 
 	public boolean login(String username, String password){
-	  if (this.getName().equals(username) && this.getPassword().equals(password)) {    
-	      System.out.println("Login successful!");
+	  if (this.getName().equals(username) && password != null && password.equals(this.getPassword())) {    
+	      ModelMessages.println("Login successful!");
 	      return true;
 	  }
 	  else {
-	      System.out.println("Invalid username or password.");
+	      ModelMessages.println("Invalid username or password.");
 	      return false;
 	  }
 	} 
@@ -91,17 +183,20 @@ package org.finalproject.system;
 		ArrayList<Email> emails = new ArrayList<>();
 
 		if (event == null) {
-		System.out.println("Invalid event.");
+		ModelMessages.println("Invalid event.");
 		return emails;
 		}
 
-		int counter = 1;
+		// parse the body once, not once per visitor
+		EmailTemplate.Bound template = EmailTemplate.compile(bodyTemplate, EmailTemplate.Field.NAME).bind(event);
+
+		IdAllocator ids = IdAllocator.getInstance();
 		for (Visitor visitor : event.getVisitors()) {
 		// Condition 1: consent
 		if (visitor.isMailingConsent()) {
-		String id = event.getEventId() + "-MSG-" + counter++;
+		String id = IdAllocator.toString(ids.nextId());
 
-		String personalizedBody = bodyTemplate.replace("{name}", visitor.getName());
+		String personalizedBody = template.render(visitor);
 
 		Email email = new Email(
 		id,
@@ -122,22 +217,24 @@ package org.finalproject.system;
 		ArrayList<Email> emails = new ArrayList<>();
 
 		if (event == null) {
-		System.out.println("Invalid event.");
+		ModelMessages.println("Invalid event.");
 		return emails;
 		}
 		if (recipients == null || recipients.isEmpty()) {
-		System.out.println("No recipients selected.");
+		ModelMessages.println("No recipients selected.");
 		return emails;
 		}
 
-		int counter = 1;
+		EmailTemplate.Bound template = EmailTemplate.compile(bodyTemplate, EmailTemplate.Field.NAME).bind(event);
+
+		IdAllocator ids = IdAllocator.getInstance();
 		for (Visitor visitor : recipients) {
 		// Condition 1: they were selected (because they're in `recipients`)
 		// Condition 2: they have consent
 		if (visitor.isMailingConsent()) {
-		String id = event.getEventId() + "-MSG-" + counter++;
+		String id = IdAllocator.toString(ids.nextId());
 
-		String personalizedBody = bodyTemplate.replace("{name}", visitor.getName());
+		String personalizedBody = template.render(visitor);
 
 		Email email = new Email(
 		id,
@@ -157,11 +254,11 @@ package org.finalproject.system;
 
 	  public void sendEmailtoVisitors(Event event, String subject, String bodyTemplate) {
 	      if (event == null) {
-	          System.out.println("Invalid event.");
+	          ModelMessages.println("Invalid event.");
 	          return;
 	      }
 
-	      System.out.println("Preparing emails for visitors of event at " 
+	      ModelMessages.println("Preparing emails for visitors of event at " 
 	              + event.getAddress() + " at " + event.getTime() + " on " + event.getDate() + ".");
 
 	      // 1) Prepare Email objects
@@ -169,19 +266,18 @@ package org.finalproject.system;
 
 	      // 2) "Send" them (here just print + update visitor status)
 	      for (Email email : emails) {
-	          System.out.println("Sending email to: " + email.getTo());
+	          ModelMessages.println("Sending email to: " + email.getTo());
 	          // Find the corresponding Visitor so we can set their mail status
-	          for (Visitor visitor : event.getVisitors()) {
-	              if (visitor.getEmail().equals(email.getTo())) {
-	                  visitor.setMailStatus("Sent");
-	              }
+	          Visitor visitor = event.findVisitorByEmail(email.getTo());
+	          if (visitor != null) {
+	              visitor.setMailStatus("Sent");
 	          }
 	      }
 
 	      // Handle visitors who opted out (optional, but keeps your old behavior)
 	      for (Visitor visitor : event.getVisitors()) {
 	          if (!visitor.isMailingConsent()) {
-	              System.out.println("Visitor: " + visitor.getName() + " has opted out of mailing list.");
+	              ModelMessages.println("Visitor: " + visitor.getName() + " has opted out of mailing list.");
 	          }
 	      }
 	  }
@@ -207,13 +303,10 @@ package org.finalproject.system;
 	      return null;
 	    }
 
-	    String id = event.getEventId() + "-RSVP-" + visitor.getName().replace(" ", "");
-	    String personalizedBody = bodyTemplate
-	        .replace("{name}", visitor.getName())
-	        .replace("{status}", status.toString())
-	        .replace("{event}", event.getAddress())
-	        .replace("{date}", event.getDate())
-	        .replace("{time}", event.getTime().toLocalTime().toString());
+	    String id = IdAllocator.toString(IdAllocator.getInstance().nextId());
+	    String personalizedBody = EmailTemplate.compile(bodyTemplate, EmailTemplate.Field.values())
+	        .bind(event)
+	        .render(visitor, status);
 
 	    return new Email(id, this.getEmail(), visitor.getEmail(), subject, personalizedBody);
 	  }
@@ -222,7 +315,7 @@ package org.finalproject.system;
 	    ArrayList<Email> emails = new ArrayList<>();
 	    
 	    if (event == null) {
-	      System.out.println("Invalid event.");
+	      ModelMessages.println("Invalid event.");
 	      return emails;
 	    }
 
@@ -230,49 +323,52 @@ package org.finalproject.system;
 	    List<Visitor> maybeList = event.getRsvpList(RSVPStatus.MAYBE);
 	    List<Visitor> noResponseList = event.getRsvpList(RSVPStatus.NO_RESPONSE);
 
-	    int counter = 1;
+	    // {status} is not filled in for reminders; the subject takes the same fields as the body
+	    EmailTemplate.Field[] fields = { EmailTemplate.Field.NAME, EmailTemplate.Field.EVENT,
+	        EmailTemplate.Field.DATE, EmailTemplate.Field.TIME };
+	    EmailTemplate.Bound template = EmailTemplate.compile(bodyTemplate, fields).bind(event);
+	    EmailTemplate.Bound subjectTemplate = EmailTemplate.compile(subject, fields).bind(event);
+
+	    IdAllocator ids = IdAllocator.getInstance();
 	    for (Visitor visitor : maybeList) {
 	      if (visitor.hasMailingListConsent()) {
-	        String id = event.getEventId() + "-REMINDER-" + counter++;
-	        String personalizedBody = bodyTemplate
-	            .replace("{name}", visitor.getName())
-	            .replace("{event}", event.getAddress())
-	            .replace("{date}", event.getDate())
-	            .replace("{time}", event.getTime().toLocalTime().toString());
-	        emails.add(new Email(id, this.getEmail(), visitor.getEmail(), subject, personalizedBody));
+	        String id = IdAllocator.toString(ids.nextId());
+	        String personalizedBody = template.render(visitor);
+	        emails.add(new Email(id, this.getEmail(), visitor.getEmail(), subjectTemplate.render(visitor), personalizedBody));
 	      }
 	    }
 
 	    for (Visitor visitor : noResponseList) {
 	      if (visitor.hasMailingListConsent()) {
-	        String id = event.getEventId() + "-REMINDER-" + counter++;
-	        String personalizedBody = bodyTemplate
-	            .replace("{name}", visitor.getName())
-	            .replace("{event}", event.getAddress())
-	            .replace("{date}", event.getDate())
-	            .replace("{time}", event.getTime().toLocalTime().toString());
-	        emails.add(new Email(id, this.getEmail(), visitor.getEmail(), subject, personalizedBody));
+	        String id = IdAllocator.toString(ids.nextId());
+	        String personalizedBody = template.render(visitor);
+	        emails.add(new Email(id, this.getEmail(), visitor.getEmail(), subjectTemplate.render(visitor), personalizedBody));
 	      }
 	    }
 
 	    return emails;
 	  }
 
+	  public RsvpSummary getRsvpSummary(Event event) {
+	    return event == null ? null : event.getRsvpSummary();
+	  }
+
 	  public void printRsvpSummary(Event event) {
-	    if (event == null) {
+	    RsvpSummary summary = getRsvpSummary(event);
+	    if (summary == null) {
 	      System.out.println("Invalid event.");
 	      return;
 	    }
 
-	    System.out.println("\n=== RSVP Summary for Event " + event.getEventId() + " ===");
-	    System.out.println("Event: " + event.getAddress() + " on " + event.getDate());
-	    System.out.println("Capacity: " + event.getCapacity());
-	    System.out.println("YES: " + event.getRsvpCount(RSVPStatus.YES));
-	    System.out.println("NO: " + event.getRsvpCount(RSVPStatus.NO));
-	    System.out.println("MAYBE: " + event.getRsvpCount(RSVPStatus.MAYBE));
-	    System.out.println("NO_RESPONSE: " + event.getRsvpCount(RSVPStatus.NO_RESPONSE));
-	    System.out.println("Total Invites: " + event.getAllRsvps().size());
-	    if (event.isOverbooked()) {
+	    System.out.println("\n=== RSVP Summary for Event " + summary.getEventId() + " ===");
+	    System.out.println("Event: " + summary.getAddress() + " on " + summary.getDate());
+	    System.out.println("Capacity: " + summary.getCapacity());
+	    System.out.println("YES: " + summary.getCount(RSVPStatus.YES));
+	    System.out.println("NO: " + summary.getCount(RSVPStatus.NO));
+	    System.out.println("MAYBE: " + summary.getCount(RSVPStatus.MAYBE));
+	    System.out.println("NO_RESPONSE: " + summary.getCount(RSVPStatus.NO_RESPONSE));
+	    System.out.println("Total Invites: " + summary.getTotalInvites());
+	    if (summary.isOverbooked()) {
 	      System.out.println("*** OVERBOOKED ***");
 	    }
 	    System.out.println("=====================================");
@@ -0,0 +1,414 @@
+package org.finalproject.system;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/*
+ * Attendance and conversion numbers kept up to date as things happen, so
+ * screens read them instead of walking every event.
+ *
+ * Listens to ModelEvents and adds each change into counters for the event,
+ * its house, its agent, the day it is on (overall and per agent) and the
+ * grand total. A read is a copy of one counter set, or a sum over a few
+ * days for a date range; nothing is recomputed from the object graph.
+ *
+ * The funnel is invited -> responded -> RSVP'd yes -> checked in:
+ *   - invitees, responses and yeses follow rsvpChanged / inviteesAdded
+ *     for people who haven't checked in yet
+ *   - a visitor's first check-in at an event is counted as an invited
+ *     one, and as a "yes" one, by the RSVP they had just before checking
+ *     in. Check-in then sets the RSVP to YES, and later RSVP changes for
+ *     people already checked in are ignored, so walk-ins don't inflate the
+ *     invite counts. Checking in again at the same event only adds to
+ *     attendance
+ *   - a repeat visitor is one whose first check-in at an event comes
+ *     after a check-in at a different event
+ *   - no-shows are only counted for closed events: yeses minus the yeses
+ *     who came, settled when the event closes (and taken back if it is
+ *     reopened)
+ *
+ * start() builds the counters once from the EventRegistry and then keeps
+ * them current. The journal doesn't record what a checked-in visitor's
+ * RSVP was before check-in, so for check-ins that happened before start()
+ * a visitor left at YES counts as an invited yes who came.
+ */
+public class AnalyticsEngine implements ModelListener {
+
+    /** One set of counters; the getters below derive the rates. */
+    public static class Stats {
+        private long events;
+        private long closedEvents;
+        private long invited;
+        private long responded;
+        private long yes;
+        private long checkIns;
+        private long visitorCheckIns;       // first check-in per visitor per event
+        private long invitedCheckIns;
+        private long yesCheckIns;
+        private long repeatCheckIns;
+        private long settledYes;
+        private long settledYesCheckIns;
+
+        Stats() {
+        }
+
+        private Stats(Stats other) {
+            add(other, 1);
+        }
+
+        private void add(Stats o, int sign) {
+            events += sign * o.events;
+            closedEvents += sign * o.closedEvents;
+            invited += sign * o.invited;
+            responded += sign * o.responded;
+            yes += sign * o.yes;
+            checkIns += sign * o.checkIns;
+            visitorCheckIns += sign * o.visitorCheckIns;
+            invitedCheckIns += sign * o.invitedCheckIns;
+            yesCheckIns += sign * o.yesCheckIns;
+            repeatCheckIns += sign * o.repeatCheckIns;
+            settledYes += sign * o.settledYes;
+            settledYesCheckIns += sign * o.settledYesCheckIns;
+        }
+
+        public long getEvents() {
+            return events;
+        }
+
+        public long getClosedEvents() {
+            return closedEvents;
+        }
+
+        public long getInvited() {
+            return invited;
+        }
+
+        public long getResponded() {
+            return responded;
+        }
+
+        public long getYes() {
+            return yes;
+        }
+
+        /** Attendance: every check-in counts. */
+        public long getCheckIns() {
+            return checkIns;
+        }
+
+        /** People checked in, once per event however often they came back. */
+        public long getVisitorCheckIns() {
+            return visitorCheckIns;
+        }
+
+        public long getWalkIns() {
+            return visitorCheckIns - invitedCheckIns;
+        }
+
+        public double getAverageAttendance() {
+            return ratio(checkIns, events);
+        }
+
+        /** Invitees who answered at all. */
+        public double getResponseRate() {
+            return ratio(responded, invited);
+        }
+
+        /** Invitees who checked in. */
+        public double getInviteConversion() {
+            return ratio(invitedCheckIns, invited);
+        }
+
+        /** Yes RSVPs who checked in. */
+        public double getRsvpConversion() {
+            return ratio(yesCheckIns, yes);
+        }
+
+        /** Yes RSVPs who didn't come, over closed events. */
+        public double getNoShowRate() {
+            return ratio(settledYes - settledYesCheckIns, settledYes);
+        }
+
+        /** Visitors who had checked in at another event before. */
+        public double getRepeatVisitorRate() {
+            return ratio(repeatCheckIns, visitorCheckIns);
+        }
+
+        private static double ratio(long part, long whole) {
+            return whole == 0 ? 0.0 : (double) part / whole;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d events, %d invited, %d check-ins (%d walk-ins); response %.0f%%, "
+                    + "invite->check-in %.0f%%, yes->check-in %.0f%%, no-show %.0f%%, repeat %.0f%%",
+                    events, invited, checkIns, getWalkIns(), getResponseRate() * 100,
+                    getInviteConversion() * 100, getRsvpConversion() * 100,
+                    getNoShowRate() * 100, getRepeatVisitorRate() * 100);
+        }
+    }
+
+    private static final AnalyticsEngine INSTANCE = new AnalyticsEngine();
+
+    private final Stats total = new Stats();
+    private final Map<Event, Stats> byEvent = new IdentityHashMap<>();
+    private final Map<House, Stats> byHouse = new IdentityHashMap<>();
+    private final Map<Agent, Stats> byAgent = new IdentityHashMap<>();
+    private final TreeMap<LocalDate, Stats> byDay = new TreeMap<>();
+    private final Map<Agent, TreeMap<LocalDate, Stats>> byAgentDay = new IdentityHashMap<>();
+    private boolean started;
+
+    private AnalyticsEngine() {
+    }
+
+    public static AnalyticsEngine getInstance() {
+        return INSTANCE;
+    }
+
+    /** Count everything already in the registry, then follow model changes. */
+    public synchronized void start() {
+        if (started) return;
+        started = true;
+        rebuild();
+        ModelEvents.getInstance().addListener(this);
+    }
+
+    public synchronized void stop() {
+        ModelEvents.getInstance().removeListener(this);
+        started = false;
+    }
+
+    /** Throw the counters away and recount from the registry. */
+    public synchronized void rebuild() {
+        total.add(new Stats(total), -1);
+        byEvent.clear();
+        byHouse.clear();
+        byAgent.clear();
+        byDay.clear();
+        byAgentDay.clear();
+        EventRegistry registry = EventRegistry.getInstance();
+        for (EventState state : EventState.values()) {
+            for (Event e : registry.getEvents(state)) {
+                count(e);
+            }
+        }
+    }
+
+    // ======================================================
+    // Reads (copies; safe to keep)
+    // ======================================================
+
+    public synchronized Stats getTotal() {
+        return new Stats(total);
+    }
+
+    public synchronized Stats forEvent(Event e) {
+        return copy(byEvent.get(e));
+    }
+
+    public synchronized Stats forHouse(House h) {
+        return copy(byHouse.get(h));
+    }
+
+    public synchronized Stats forAgent(Agent a) {
+        return copy(byAgent.get(a));
+    }
+
+    public synchronized Stats forDay(LocalDate day) {
+        return copy(byDay.get(day));
+    }
+
+    /** Events starting from <= day <= to, for everyone or (with agent) one agent. */
+    public synchronized Stats forDays(Agent agent, LocalDate from, LocalDate to) {
+        TreeMap<LocalDate, Stats> days = agent == null ? byDay : byAgentDay.get(agent);
+        Stats sum = new Stats();
+        if (days != null && !from.isAfter(to)) {
+            for (Stats s : days.subMap(from, true, to, true).values()) {
+                sum.add(s, 1);
+            }
+        }
+        return sum;
+    }
+
+    private static Stats copy(Stats s) {
+        return s == null ? new Stats() : new Stats(s);
+    }
+
+    // ======================================================
+    // Model notifications
+    // ======================================================
+
+    @Override
+    public synchronized void eventAdded(Event e) {
+        Stats own = byEvent.get(e);
+        if (own != null && own.events > 0) return;
+        update(e, s -> s.events++);
+    }
+
+    @Override
+    public synchronized void eventStateChanged(Event e) {
+        Stats own = byEvent.get(e);
+        if (own == null) return;
+        boolean settled = own.closedEvents > 0;
+        if (e.isClosed() == settled) return;
+        long yes = own.yes;
+        long came = own.yesCheckIns;
+        int sign = e.isClosed() ? 1 : -1;   // reopened: take the no-shows back
+        update(e, s -> {
+            s.closedEvents += sign;
+            s.settledYes += sign * yes;
+            s.settledYesCheckIns += sign * came;
+        });
+    }
+
+    @Override
+    public synchronized void eventRescheduled(Event e, LocalDateTime oldStart) {
+        Stats own = byEvent.get(e);
+        if (own == null || oldStart.toLocalDate().equals(e.getStartTime().toLocalDate())) return;
+        Agent agent = e.getAgent();
+        dayStats(byDay, oldStart.toLocalDate()).add(own, -1);
+        dayStats(byDay, e.getStartTime().toLocalDate()).add(own, 1);
+        if (agent != null) {
+            TreeMap<LocalDate, Stats> days = byAgentDay.computeIfAbsent(agent, a -> new TreeMap<>());
+            dayStats(days, oldStart.toLocalDate()).add(own, -1);
+            dayStats(days, e.getStartTime().toLocalDate()).add(own, 1);
+        }
+    }
+
+    @Override
+    public void rsvpChanged(Event e, Visitor v, RSVPStatus oldStatus, RSVPStatus newStatus) {
+        // past the funnel once checked in (check-in itself sets YES)
+        if (e.hasCheckedIn(v)) return;
+        int invited = (newStatus != null ? 1 : 0) - (oldStatus != null ? 1 : 0);
+        int responded = (answered(newStatus) ? 1 : 0) - (answered(oldStatus) ? 1 : 0);
+        int yes = (newStatus == RSVPStatus.YES ? 1 : 0) - (oldStatus == RSVPStatus.YES ? 1 : 0);
+        if (invited == 0 && responded == 0 && yes == 0) return;
+        synchronized (this) {
+            update(e, s -> {
+                s.invited += invited;
+                s.responded += responded;
+                s.yes += yes;
+            });
+        }
+    }
+
+    @Override
+    public synchronized void inviteesAdded(Event e, List<Visitor> visitors) {
+        int added = 0;
+        for (Visitor v : visitors) {
+            if (!e.hasCheckedIn(v)) added++;
+        }
+        int n = added;
+        if (n > 0) update(e, s -> s.invited += n);
+    }
+
+    @Override
+    public void visitorCheckedIn(Event e, Visitor v) {
+        // fired before check-in moves the RSVP to YES, so this is what they said beforehand
+        RSVPStatus before = e.isInvited(v) ? e.getRsvpStatus(v) : null;
+        CheckInRecord latest = null;
+        int here = 0;
+        for (CheckInRecord r : v.getCheckInHistory()) {
+            if (r.getEvent() == e) {
+                here++;
+                latest = r;
+            }
+        }
+        boolean first = here <= 1;
+        boolean repeat = first && latest != null && isRepeat(v, latest);
+        synchronized (this) {
+            update(e, s -> {
+                s.checkIns++;
+                if (!first) return;   // back again: attendance only
+                s.visitorCheckIns++;
+                if (before != null) s.invitedCheckIns++;
+                if (before == RSVPStatus.YES) s.yesCheckIns++;
+                if (repeat) s.repeatCheckIns++;
+            });
+        }
+    }
+
+    // ======================================================
+    // Counting
+    // ======================================================
+
+    // adds one event as it stands now (start() / rebuild())
+    private void count(Event e) {
+        Stats own = new Stats();
+        own.events = 1;
+        e.forEachRsvp((v, status) -> {
+            if (e.hasCheckedIn(v)) return; // counted with the check-ins
+            own.invited++;
+            if (answered(status)) own.responded++;
+            if (status == RSVPStatus.YES) own.yes++;
+        });
+        Set<Visitor> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        e.forEachCheckIn((v, record) -> {
+            own.checkIns++;
+            if (!seen.add(v)) return;
+            RSVPStatus status = e.isInvited(v) ? e.getRsvpStatus(v) : null;
+            own.visitorCheckIns++;
+            if (status != null) own.invitedCheckIns++;
+            if (status == RSVPStatus.YES) own.yesCheckIns++;
+            if (isRepeat(v, record)) own.repeatCheckIns++;
+        });
+        // people who checked in were invitees too, as far as we can tell now
+        for (Visitor v : e.getVisitors()) {
+            if (!e.isInvited(v)) continue;
+            RSVPStatus status = e.getRsvpStatus(v);
+            own.invited++;
+            if (answered(status)) own.responded++;
+            if (status == RSVPStatus.YES) own.yes++;
+        }
+        if (e.isClosed()) {
+            own.closedEvents = 1;
+            own.settledYes = own.yes;
+            own.settledYesCheckIns = own.yesCheckIns;
+        }
+        byEvent.put(e, new Stats());
+        update(e, s -> s.add(own, 1));
+    }
+
+    // applies change to every counter set e belongs to
+    private void update(Event e, Consumer<Stats> change) {
+        change.accept(byEvent.computeIfAbsent(e, k -> new Stats()));
+        change.accept(total);
+        if (e.getHouse() != null) {
+            change.accept(byHouse.computeIfAbsent(e.getHouse(), k -> new Stats()));
+        }
+        LocalDate day = e.getStartTime() != null ? e.getStartTime().toLocalDate() : null;
+        if (day != null) {
+            change.accept(dayStats(byDay, day));
+        }
+        Agent agent = e.getAgent();
+        if (agent != null) {
+            change.accept(byAgent.computeIfAbsent(agent, k -> new Stats()));
+            if (day != null) {
+                change.accept(dayStats(byAgentDay.computeIfAbsent(agent, a -> new TreeMap<>()), day));
+            }
+        }
+    }
+
+    private static Stats dayStats(TreeMap<LocalDate, Stats> days, LocalDate day) {
+        return days.computeIfAbsent(day, d -> new Stats());
+    }
+
+    private static boolean answered(RSVPStatus status) {
+        return status != null && status != RSVPStatus.NO_RESPONSE;
+    }
+
+    // someone who checked in at a different event before this check-in
+    private static boolean isRepeat(Visitor v, CheckInRecord record) {
+        for (CheckInRecord r : v.getCheckInHistory()) {
+            if (r.getEvent() != record.getEvent() && r.getTimestamp().isBefore(record.getTimestamp())) return true;
+        }
+        return false;
+    }
+}
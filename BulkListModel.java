@@ -0,0 +1,83 @@
+package org.finalproject.system;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.swing.AbstractListModel;
+
+/*
+ * A ListModel for large lists.
+ *
+ * DefaultListModel fires one interval event per addElement(), so loading
+ * n rows costs n notifications (and n layout passes in the JList). This
+ * model changes its backing list in one go and fires a single range event
+ * for each bulk operation. Single-row add/set are still available for
+ * applying deltas from ModelListener callbacks.
+ *
+ * Like every Swing model, use it on the event dispatch thread only.
+ */
+public class BulkListModel<E> extends AbstractListModel<E> {
+
+    private final List<E> items = new ArrayList<>();
+
+    @Override
+    public int getSize() {
+        return items.size();
+    }
+
+    @Override
+    public E getElementAt(int index) {
+        return items.get(index);
+    }
+
+    public E get(int index) {
+        return items.get(index);
+    }
+
+    public int indexOf(E item) {
+        return items.indexOf(item);
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public void add(E item) {
+        int index = items.size();
+        items.add(item);
+        fireIntervalAdded(this, index, index);
+    }
+
+    /** Appends every item with one intervalAdded event. */
+    public void addAll(Collection<? extends E> more) {
+        if (more.isEmpty()) return;
+        int first = items.size();
+        items.addAll(more);
+        fireIntervalAdded(this, first, items.size() - 1);
+    }
+
+    public void set(int index, E item) {
+        items.set(index, item);
+        fireContentsChanged(this, index, index);
+    }
+
+    public E remove(int index) {
+        E removed = items.remove(index);
+        fireIntervalRemoved(this, index, index);
+        return removed;
+    }
+
+    public void clear() {
+        if (items.isEmpty()) return;
+        int last = items.size() - 1;
+        items.clear();
+        fireIntervalRemoved(this, 0, last);
+    }
+
+    /** Swaps in a whole new list with one removed and one added event. */
+    public void replaceAll(Collection<? extends E> replacement) {
+        clear();
+        addAll(replacement);
+    }
+}
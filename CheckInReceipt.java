@@ -0,0 +1,77 @@
+package org.finalproject.system;
+
+import java.time.LocalDateTime;
+
+/*
+ * What the kiosk shows a visitor after a successful check-in.
+ */
+public class CheckInReceipt {
+
+    private final String visitorName;
+    private final String visitorEmail;
+    private final String eventId;
+    private final String address;
+    private final LocalDateTime timestamp;
+    private final int attendance;
+    private final int capacity;
+    private final int totalVisits;
+
+    CheckInReceipt(String visitorName, String visitorEmail, String eventId, String address,
+                   LocalDateTime timestamp, int attendance, int capacity, int totalVisits) {
+        this.visitorName = visitorName;
+        this.visitorEmail = visitorEmail;
+        this.eventId = eventId;
+        this.address = address;
+        this.timestamp = timestamp;
+        this.attendance = attendance;
+        this.capacity = capacity;
+        this.totalVisits = totalVisits;
+    }
+
+    /** Receipt for a record that was just added to visitor's history. */
+    public static CheckInReceipt from(Visitor visitor, CheckInRecord record) {
+        Event event = record.getEvent();
+        return new CheckInReceipt(
+                visitor.getName(),
+                visitor.getEmail(),
+                event.getEventId(),
+                event.getAddress(),
+                record.getTimestamp(),
+                event.getAttendance(),
+                event.getCapacity(),
+                visitor.getCheckInHistory().size());
+    }
+
+    public String getVisitorName() {
+        return visitorName;
+    }
+
+    public String getVisitorEmail() {
+        return visitorEmail;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public int getAttendance() {
+        return attendance;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /** How many open houses this visitor has checked in to, including this one. */
+    public int getTotalVisits() {
+        return totalVisits;
+    }
+}
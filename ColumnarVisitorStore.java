@@ -0,0 +1,486 @@
+package org.finalproject.system;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/*
+ * Visitor records kept column by column instead of as objects.
+ *
+ * A Visitor costs an object, three Strings, an ArrayList and, per check-in,
+ * a CheckInRecord plus a LocalDateTime (itself three objects). With years
+ * of sign-ins that is most of the heap. Here a visitor is just an int id
+ * into parallel arrays:
+ *
+ *   - name and email: UTF-8 bytes appended to one shared byte[] pool; per
+ *     visitor only the two start offsets are kept (the email ends where the
+ *     next visitor's name starts)
+ *   - phone: its digits as a long plus a digit count, so leading zeros
+ *     survive; formatting is dropped, and the rare number over 18 digits
+ *     goes to a side map as-is
+ *   - mailing consent and mail status: bits in BitSets
+ *   - check-ins: (event id, epoch second) pairs in two long[] columns,
+ *     chained per visitor through an int[] of next indexes
+ *
+ * Emails are stored normalized (trimmed, lower case) and indexed by an
+ * open-addressing int[] table that compares straight against the pool, so
+ * lookups allocate nothing beyond the UTF-8 encoding of the key.
+ *
+ * Reads go through VisitorView, a flyweight holding only the store and an
+ * id; forEach() reuses one view for the whole walk. toVisitor() builds a
+ * full Visitor when the rest of the model needs one.
+ *
+ * Append-only: visitors are never removed. All methods are synchronized.
+ */
+public class ColumnarVisitorStore {
+
+    /** Mail status values that fit the two status bits; index 0 is "none". */
+    private static final String[] MAIL_STATUSES = { null, "Pending", "Sent", "Failed" };
+
+    private static final int MAX_PHONE_DIGITS = 18;   // fits a long
+    private static final int MIN_CAPACITY = 16;
+
+    /** Receives one check-in; the event may have been deleted since. */
+    public interface CheckInAction {
+        void accept(long eventId, LocalDateTime when);
+    }
+
+    // string pool
+    private byte[] pool = new byte[1024];
+    private int poolSize;
+
+    // per-visitor columns
+    private int[] nameAt = new int[MIN_CAPACITY];
+    private int[] emailAt = new int[MIN_CAPACITY];
+    private long[] phoneDigits = new long[MIN_CAPACITY];
+    private byte[] phoneLength = new byte[MIN_CAPACITY];   // 0 = no phone, -1 = in longPhones
+    private int[] firstCheckIn = new int[MIN_CAPACITY];    // -1 = none
+    private int[] lastCheckIn = new int[MIN_CAPACITY];
+    private final BitSet consent = new BitSet();
+    private final BitSet mailLow = new BitSet();
+    private final BitSet mailHigh = new BitSet();
+    private final Map<Integer, String> longPhones = new HashMap<>();
+    private int size;
+
+    // check-in columns
+    private long[] checkInEvent = new long[MIN_CAPACITY];
+    private long[] checkInSecond = new long[MIN_CAPACITY];
+    private int[] checkInNext = new int[MIN_CAPACITY];
+    private int checkIns;
+
+    // email -> id + 1 (0 = empty slot), linear probing
+    private int[] emailTable = new int[MIN_CAPACITY * 2];
+
+    // ======================================================
+    // Adding visitors
+    // ======================================================
+
+    /**
+     * The id of the visitor with this email, adding them if new. Name and
+     * phone are only used when adding. Returns -1 (after printing why) if
+     * the email is blank, since it is the only key.
+     */
+    public synchronized int add(String name, String email, String phone) {
+        byte[] key = emailKey(email);
+        if (key.length == 0) {
+            System.out.println("A visitor needs an email to be stored.");
+            return -1;
+        }
+        int slot = findSlot(key);
+        if (emailTable[slot] != 0) {
+            return emailTable[slot] - 1;
+        }
+
+        int id = size;
+        ensureVisitorCapacity(id + 1);
+        byte[] nameBytes = (name == null ? "" : name).getBytes(StandardCharsets.UTF_8);
+        ensurePoolCapacity(poolSize + nameBytes.length + key.length);
+        nameAt[id] = poolSize;
+        System.arraycopy(nameBytes, 0, pool, poolSize, nameBytes.length);
+        poolSize += nameBytes.length;
+        emailAt[id] = poolSize;
+        System.arraycopy(key, 0, pool, poolSize, key.length);
+        poolSize += key.length;
+        setPhone(id, phone);
+        firstCheckIn[id] = -1;
+        lastCheckIn[id] = -1;
+        size++;
+
+        emailTable[slot] = id + 1;
+        if (size * 2 > emailTable.length) {
+            rehash(emailTable.length * 2);
+        }
+        return id;
+    }
+
+    /**
+     * Copies a new visitor's details, consent and check-in history in and
+     * returns their id; a visitor already stored by email is left as is.
+     */
+    public synchronized int add(Visitor v) {
+        if (v == null) return -1;
+        int before = size;
+        int id = add(v.getName(), v.getEmail(), v.getPhone());
+        if (id < before) return id;   // already stored (or -1): keep what is there
+        consent.set(id, v.hasMailingListConsent());
+        for (CheckInRecord r : v.getCheckInHistory()) {
+            Event e = r.getEvent();
+            addCheckIn(id, e != null ? e.getId() : 0, r.getTimestamp());
+        }
+        return id;
+    }
+
+    // ======================================================
+    // Reading
+    // ======================================================
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /** The id for this email, or -1 if it isn't stored. */
+    public synchronized int find(String email) {
+        byte[] key = emailKey(email);
+        if (key.length == 0) return -1;
+        return emailTable[findSlot(key)] - 1;
+    }
+
+    /** A view of one visitor; it stays valid for as long as the store does. */
+    public VisitorView view(int id) {
+        checkId(id);
+        return new VisitorView(this, id);
+    }
+
+    /** Visits every visitor in id order, reusing one view; don't keep it. */
+    public void forEach(Consumer<VisitorView> action) {
+        VisitorView view = new VisitorView(this, 0);
+        int n = size();
+        for (int id = 0; id < n; id++) {
+            view.id = id;
+            action.accept(view);
+        }
+    }
+
+    public synchronized String getName(int id) {
+        checkId(id);
+        return new String(pool, nameAt[id], emailAt[id] - nameAt[id], StandardCharsets.UTF_8);
+    }
+
+    public synchronized String getEmail(int id) {
+        checkId(id);
+        int end = id + 1 < size ? nameAt[id + 1] : poolSize;
+        return new String(pool, emailAt[id], end - emailAt[id], StandardCharsets.UTF_8);
+    }
+
+    /** The phone's digits (leading zeros kept), or "" if there is none. */
+    public synchronized String getPhone(int id) {
+        checkId(id);
+        int length = phoneLength[id];
+        if (length == 0) return "";
+        if (length < 0) return longPhones.get(id);
+        String digits = Long.toString(phoneDigits[id]);
+        if (digits.length() >= length) return digits;
+        char[] padded = new char[length];
+        Arrays.fill(padded, 0, length - digits.length(), '0');
+        digits.getChars(0, digits.length(), padded, length - digits.length());
+        return new String(padded);
+    }
+
+    public synchronized boolean hasMailingListConsent(int id) {
+        checkId(id);
+        return consent.get(id);
+    }
+
+    public synchronized void setMailingListConsent(int id, boolean value) {
+        checkId(id);
+        consent.set(id, value);
+    }
+
+    /** "Pending", "Sent", "Failed", or null if nothing has been sent. */
+    public synchronized String getMailStatus(int id) {
+        checkId(id);
+        return MAIL_STATUSES[(mailHigh.get(id) ? 2 : 0) | (mailLow.get(id) ? 1 : 0)];
+    }
+
+    /** Sets the mail status; returns false (after printing why) for an unknown value. */
+    public synchronized boolean setMailStatus(int id, String status) {
+        checkId(id);
+        int code = -1;
+        for (int i = 0; i < MAIL_STATUSES.length; i++) {
+            String s = MAIL_STATUSES[i];
+            if (s == null ? status == null : s.equalsIgnoreCase(status)) {
+                code = i;
+                break;
+            }
+        }
+        if (code < 0) {
+            System.out.println("Unknown mail status: " + status);
+            return false;
+        }
+        mailLow.set(id, (code & 1) != 0);
+        mailHigh.set(id, (code & 2) != 0);
+        return true;
+    }
+
+    // ======================================================
+    // Check-ins
+    // ======================================================
+
+    /** Records a check-in at the given event (by id). Time is kept to the second. */
+    public synchronized void addCheckIn(int id, long eventId, LocalDateTime when) {
+        checkId(id);
+        if (when == null) return;
+        int i = checkIns;
+        if (i == checkInEvent.length) {
+            int capacity = grow(i);
+            checkInEvent = Arrays.copyOf(checkInEvent, capacity);
+            checkInSecond = Arrays.copyOf(checkInSecond, capacity);
+            checkInNext = Arrays.copyOf(checkInNext, capacity);
+        }
+        checkInEvent[i] = eventId;
+        checkInSecond[i] = when.toEpochSecond(ZoneOffset.UTC);
+        checkInNext[i] = -1;
+        if (lastCheckIn[id] < 0) {
+            firstCheckIn[id] = i;
+        } else {
+            checkInNext[lastCheckIn[id]] = i;
+        }
+        lastCheckIn[id] = i;
+        checkIns++;
+    }
+
+    public synchronized int getCheckInCount(int id) {
+        checkId(id);
+        int count = 0;
+        for (int i = firstCheckIn[id]; i >= 0; i = checkInNext[i]) {
+            count++;
+        }
+        return count;
+    }
+
+    /** The visitor's check-ins, oldest first. */
+    public synchronized void forEachCheckIn(int id, CheckInAction action) {
+        checkId(id);
+        for (int i = firstCheckIn[id]; i >= 0; i = checkInNext[i]) {
+            action.accept(checkInEvent[i], LocalDateTime.ofEpochSecond(checkInSecond[i], 0, ZoneOffset.UTC));
+        }
+    }
+
+    /** Check-ins across all visitors. */
+    public synchronized int getTotalCheckIns() {
+        return checkIns;
+    }
+
+    /** Drops the spare capacity left by growing, e.g. once a bulk load is done. */
+    public synchronized void trimToSize() {
+        pool = Arrays.copyOf(pool, poolSize);
+        int n = Math.max(size, 1);
+        nameAt = Arrays.copyOf(nameAt, n);
+        emailAt = Arrays.copyOf(emailAt, n);
+        phoneDigits = Arrays.copyOf(phoneDigits, n);
+        phoneLength = Arrays.copyOf(phoneLength, n);
+        firstCheckIn = Arrays.copyOf(firstCheckIn, n);
+        lastCheckIn = Arrays.copyOf(lastCheckIn, n);
+        int c = Math.max(checkIns, 1);
+        checkInEvent = Arrays.copyOf(checkInEvent, c);
+        checkInSecond = Arrays.copyOf(checkInSecond, c);
+        checkInNext = Arrays.copyOf(checkInNext, c);
+    }
+
+    /**
+     * A full Visitor with the same details, consent, mail status and the
+     * check-ins whose events are still in the registry.
+     */
+    public synchronized Visitor toVisitor(int id) {
+        checkId(id);
+        Visitor v = new Visitor(getName(id), getEmail(id), getPhone(id));
+        v.setMailingListConsent(consent.get(id));
+        String status = getMailStatus(id);
+        if (status != null) v.setMailStatus(status);
+        EventRegistry registry = EventRegistry.getInstance();
+        for (int i = firstCheckIn[id]; i >= 0; i = checkInNext[i]) {
+            Event e = registry.getEvent(checkInEvent[i]);
+            if (e != null) {
+                LocalDateTime when = LocalDateTime.ofEpochSecond(checkInSecond[i], 0, ZoneOffset.UTC);
+                v.addCheckInRecord(new CheckInRecord(v, e, when));
+            }
+        }
+        return v;
+    }
+
+    // ======================================================
+    // Internals
+    // ======================================================
+
+    private void checkId(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("no visitor " + id + " (size " + size + ")");
+        }
+    }
+
+    private static byte[] emailKey(String email) {
+        return Event.normalizeEmail(email).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void setPhone(int id, String phone) {
+        long digits = 0;
+        int length = 0;
+        if (phone != null) {
+            for (int i = 0; i < phone.length(); i++) {
+                char c = phone.charAt(i);
+                if (c < '0' || c > '9') continue;
+                if (++length <= MAX_PHONE_DIGITS) digits = digits * 10 + (c - '0');
+            }
+        }
+        if (length > MAX_PHONE_DIGITS) {
+            longPhones.put(id, phone.trim());
+            phoneLength[id] = -1;
+        } else {
+            phoneDigits[id] = digits;
+            phoneLength[id] = (byte) length;
+        }
+    }
+
+    // the slot holding key, or the empty slot where it would go
+    private int findSlot(byte[] key) {
+        int mask = emailTable.length - 1;
+        for (int i = hash(key, 0, key.length) & mask; ; i = (i + 1) & mask) {
+            int entry = emailTable[i];
+            if (entry == 0 || emailEquals(entry - 1, key)) return i;
+        }
+    }
+
+    private boolean emailEquals(int id, byte[] key) {
+        int start = emailAt[id];
+        int end = id + 1 < size ? nameAt[id + 1] : poolSize;
+        if (end - start != key.length) return false;
+        for (int i = 0; i < key.length; i++) {
+            if (pool[start + i] != key[i]) return false;
+        }
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        int[] table = new int[capacity];
+        int mask = capacity - 1;
+        for (int id = 0; id < size; id++) {
+            int end = id + 1 < size ? nameAt[id + 1] : poolSize;
+            int i = hash(pool, emailAt[id], end) & mask;
+            while (table[i] != 0) i = (i + 1) & mask;
+            table[i] = id + 1;
+        }
+        emailTable = table;
+    }
+
+    private static int hash(byte[] bytes, int from, int to) {
+        int h = 1;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + bytes[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private void ensureVisitorCapacity(int needed) {
+        if (needed <= nameAt.length) return;
+        int capacity = grow(nameAt.length);
+        nameAt = Arrays.copyOf(nameAt, capacity);
+        emailAt = Arrays.copyOf(emailAt, capacity);
+        phoneDigits = Arrays.copyOf(phoneDigits, capacity);
+        phoneLength = Arrays.copyOf(phoneLength, capacity);
+        firstCheckIn = Arrays.copyOf(firstCheckIn, capacity);
+        lastCheckIn = Arrays.copyOf(lastCheckIn, capacity);
+    }
+
+    private void ensurePoolCapacity(int needed) {
+        if (needed <= pool.length) return;
+        pool = Arrays.copyOf(pool, Math.max(needed, grow(pool.length)));
+    }
+
+    // 1.5x, like ArrayList
+    private static int grow(int capacity) {
+        return Math.max(MIN_CAPACITY, capacity + (capacity >> 1));
+    }
+
+    /**
+     * A visitor in a ColumnarVisitorStore, read through on every call.
+     * Holds nothing but the store and an id.
+     */
+    public static final class VisitorView {
+        private final ColumnarVisitorStore store;
+        private int id;
+
+        VisitorView(ColumnarVisitorStore store, int id) {
+            this.store = store;
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getName() {
+            return store.getName(id);
+        }
+
+        public String getEmail() {
+            return store.getEmail(id);
+        }
+
+        public String getPhone() {
+            return store.getPhone(id);
+        }
+
+        public boolean hasMailingListConsent() {
+            return store.hasMailingListConsent(id);
+        }
+
+        public void setMailingListConsent(boolean value) {
+            store.setMailingListConsent(id, value);
+        }
+
+        public String getMailStatus() {
+            return store.getMailStatus(id);
+        }
+
+        public boolean setMailStatus(String status) {
+            return store.setMailStatus(id, status);
+        }
+
+        public void addCheckIn(Event event, LocalDateTime when) {
+            store.addCheckIn(id, event != null ? event.getId() : 0, when);
+        }
+
+        public int getCheckInCount() {
+            return store.getCheckInCount(id);
+        }
+
+        public void forEachCheckIn(CheckInAction action) {
+            store.forEachCheckIn(id, action);
+        }
+
+        /** A detached full Visitor; see ColumnarVisitorStore.toVisitor. */
+        public Visitor toVisitor() {
+            return store.toVisitor(id);
+        }
+
+        @Override
+        public String toString() {
+            return getName() + " <" + getEmail() + ">";
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof VisitorView && ((VisitorView) o).store == store && ((VisitorView) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(store) * 31 + id;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.finalproject.system;
+
+import java.io.Serializable;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/*
+ * Username -> credential map used by Login.
+ *
+ * Usernames are normalized (trimmed, lower-cased) so "Aidan" and " aidan "
+ * are the same account. Passwords are stored as salted PBKDF2 hashes; the
+ * lookup is a single concurrent map get, so login cost does not depend on
+ * how many accounts exist.
+ */
+public class CredentialStore implements Serializable {
+
+    private static final long serialVersionUID = 2019083799681610579L;
+
+    public static final int DEFAULT_ITERATIONS = 120_000;
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    private static final byte[] UNKNOWN_USER_SALT = new byte[SALT_BYTES];
+
+    private final ConcurrentMap<String, Credential> byUsername = new ConcurrentHashMap<>();
+    private final int iterations;
+
+    // salts only need to be unpredictable while running; not worth serializing
+    private transient Random saltSource;
+
+    public CredentialStore() {
+        this(DEFAULT_ITERATIONS);
+    }
+
+    public CredentialStore(int iterations) {
+        this(iterations, null);
+    }
+
+    /** saltSource may be a seeded Random for reproducible test data; null means SecureRandom. */
+    public CredentialStore(int iterations, Random saltSource) {
+        this.iterations = Math.max(1, iterations);
+        this.saltSource = saltSource;
+    }
+
+    public static String normalize(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Store a hashed credential for person.
+     * Returns false if the username is blank or already taken.
+     */
+    public boolean register(String username, String password, Person person) {
+        String key = normalize(username);
+        if (key.isEmpty() || password == null || person == null) {
+            return false;
+        }
+        if (byUsername.containsKey(key)) {
+            return false; // cheap early out before hashing
+        }
+
+        byte[] salt = new byte[SALT_BYTES];
+        salts().nextBytes(salt);
+        Credential c = new Credential(person, salt, iterations, hash(password, salt, iterations));
+
+        return byUsername.putIfAbsent(key, c) == null;
+    }
+
+    /** Returns the matching person, or null if the username/password is wrong. */
+    public Person authenticate(String username, String password) {
+        if (password == null) return null;
+        Credential c = byUsername.get(normalize(username));
+        if (c == null) {
+            // hash anyway, so a wrong username takes as long as a wrong password
+            hash(password, UNKNOWN_USER_SALT, iterations);
+            return null;
+        }
+        byte[] attempt = hash(password, c.salt, c.iterations);
+        return MessageDigest.isEqual(attempt, c.hash) ? c.person : null;
+    }
+
+    /**
+     * What the journal keeps for username instead of the password: salt,
+     * iteration count and hash (Base64). Null if there is no such account.
+     */
+    String[] export(String username) {
+        Credential c = byUsername.get(normalize(username));
+        if (c == null) {
+            return null;
+        }
+        Base64.Encoder b64 = Base64.getEncoder();
+        return new String[] { b64.encodeToString(c.salt), Integer.toString(c.iterations), b64.encodeToString(c.hash) };
+    }
+
+    /**
+     * Put back a credential written by export() without hashing anything
+     * (journal replay). Returns false if the username is taken or the
+     * fields don't parse.
+     */
+    boolean restore(String username, Person person, String salt, String iterations, String hash) {
+        String key = normalize(username);
+        if (key.isEmpty() || person == null) {
+            return false;
+        }
+        Credential c;
+        try {
+            Base64.Decoder b64 = Base64.getDecoder();
+            c = new Credential(person, b64.decode(salt), Integer.parseInt(iterations), b64.decode(hash));
+        } catch (IllegalArgumentException ex) {   // also covers NumberFormatException
+            return false;
+        }
+        return byUsername.putIfAbsent(key, c) == null;
+    }
+
+    public boolean contains(String username) {
+        return byUsername.containsKey(normalize(username));
+    }
+
+    public int size() {
+        return byUsername.size();
+    }
+
+    private Random salts() {
+        if (saltSource == null) {
+            saltSource = new SecureRandom();
+        }
+        return saltSource;
+    }
+
+    private static byte[] hash(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException ex) {
+            // every Java 8+ runtime ships PBKDF2WithHmacSHA256
+            throw new IllegalStateException("Password hashing unavailable", ex);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private static class Credential implements Serializable {
+        private static final long serialVersionUID = 3249698714543828706L;
+
+        private final Person person;
+        private final byte[] salt;
+        private final int iterations;
+        private final byte[] hash;
+
+        Credential(Person person, byte[] salt, int iterations, byte[] hash) {
+            this.person = person;
+            this.salt = salt;
+            this.iterations = iterations;
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package org.finalproject.system;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/*
+ * Writes events, RSVPs, check-ins or the visitor directory to a CSV or
+ * JSON Lines file, straight from the model.
+ *
+ * Each row is built in one reused StringBuilder and encoded into one 64 KB
+ * buffer that is flushed to a FileChannel whenever it fills. The model's
+ * iterators (Event.forEachRsvp / forEachCheckIn, the per-agent walk of
+ * VisitorDirectory) run under locks the kiosks and the GUI also need, so
+ * they only copy references into a reused Refs buffer; the rows are
+ * written after the lock is released. Heap use is therefore one event's
+ * (or one agent's) worth of references, never the encoded rows.
+ *
+ * Filters:
+ *   - agent / house: only that agent's / house's events (for VISITORS, the
+ *     agent filter means people who checked in at one of their events)
+ *   - from / to: event start for EVENTS and RSVPS, check-in time for
+ *     CHECK_INS (from inclusive, to exclusive); not used for VISITORS
+ */
+public class DataExporter {
+
+    public enum Format {
+        CSV, JSONL;
+
+        /** JSONL for .jsonl/.json/.ndjson files, CSV otherwise. */
+        public static Format forPath(Path path) {
+            String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+            return name.endsWith(".jsonl") || name.endsWith(".json") || name.endsWith(".ndjson") ? JSONL : CSV;
+        }
+    }
+
+    public enum Table {
+        EVENTS("event_id", "id", "agent", "house", "start", "end", "state", "capacity",
+                "attendance", "invitees", "yes", "no", "maybe", "no_response"),
+        RSVPS("event_id", "agent", "house", "event_start", "name", "email", "phone", "status"),
+        CHECK_INS("event_id", "agent", "house", "event_start", "checked_in_at",
+                "name", "email", "phone", "mailing_consent"),
+        VISITORS("name", "email", "phone", "mailing_consent", "visits");
+
+        private final String[] columns;
+
+        Table(String... columns) {
+            this.columns = columns;
+        }
+
+        public String[] getColumns() {
+            return columns.clone();
+        }
+    }
+
+    /** Which rows to export; unset fields don't filter. */
+    public static class Filter {
+        private LocalDateTime from;
+        private LocalDateTime to;
+        private Agent agent;
+        private House house;
+
+        public Filter from(LocalDateTime from) {
+            this.from = from;
+            return this;
+        }
+
+        public Filter to(LocalDateTime to) {
+            this.to = to;
+            return this;
+        }
+
+        public Filter agent(Agent agent) {
+            this.agent = agent;
+            return this;
+        }
+
+        public Filter house(House house) {
+            this.house = house;
+            return this;
+        }
+
+        private boolean inRange(LocalDateTime t) {
+            return (from == null || !t.isBefore(from)) && (to == null || t.isBefore(to));
+        }
+    }
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private DataExporter() {
+    }
+
+    /** Export one table to path (replacing it). Returns the number of rows written. */
+    public static long export(Table table, Format format, Path path, Filter filter) throws IOException {
+        Filter f = filter != null ? filter : new Filter();
+        try (RowWriter out = new RowWriter(path, format, table.columns)) {
+            switch (table) {
+                case EVENTS:    writeEvents(out, f); break;
+                case RSVPS:     writeRsvps(out, f); break;
+                case CHECK_INS: writeCheckIns(out, f); break;
+                case VISITORS:  writeVisitors(out, f); break;
+                default: break;
+            }
+            return out.getRows();
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static void writeEvents(RowWriter out, Filter f) throws IOException {
+        for (Event e : events(f, true)) {
+            RsvpSummary rsvps = e.getRsvpSummary();
+            out.str(e.getEventId()).num(e.getId()).str(agentName(e)).str(e.getAddress())
+                    .time(e.getStartTime()).time(e.getEndTime()).str(e.getState().name())
+                    .num(e.getCapacity()).num(e.getAttendance()).num(e.getInviteeCount())
+                    .num(rsvps.getCount(RSVPStatus.YES)).num(rsvps.getCount(RSVPStatus.NO))
+                    .num(rsvps.getCount(RSVPStatus.MAYBE)).num(rsvps.getCount(RSVPStatus.NO_RESPONSE))
+                    .endRow();
+        }
+    }
+
+    private static void writeRsvps(RowWriter out, Filter f) throws IOException {
+        Refs<Visitor, RSVPStatus> rsvps = new Refs<>();
+        for (Event e : events(f, true)) {
+            String agent = agentName(e);
+            e.forEachRsvp(rsvps::add);
+            for (int i = 0; i < rsvps.size(); i++) {
+                Visitor v = rsvps.first(i);
+                out.str(e.getEventId()).str(agent).str(e.getAddress()).time(e.getStartTime())
+                        .str(v.getName()).str(v.getEmail()).str(v.getPhone())
+                        .str(rsvps.second(i).name()).endRow();
+            }
+            rsvps.clear();
+        }
+    }
+
+    private static void writeCheckIns(RowWriter out, Filter f) throws IOException {
+        Refs<Visitor, CheckInRecord> checkIns = new Refs<>();
+        for (Event e : events(f, false)) {
+            String agent = agentName(e);
+            e.forEachCheckIn(f.from, f.to, checkIns::add);
+            for (int i = 0; i < checkIns.size(); i++) {
+                Visitor v = checkIns.first(i);
+                out.str(e.getEventId()).str(agent).str(e.getAddress()).time(e.getStartTime())
+                        .time(checkIns.second(i).getTimestamp()).str(v.getName()).str(v.getEmail())
+                        .str(v.getPhone()).bool(v.hasMailingListConsent()).endRow();
+            }
+            checkIns.clear();
+        }
+    }
+
+    private static void writeVisitors(RowWriter out, Filter f) throws IOException {
+        if (f.agent == null) {
+            // the whole directory lives in concurrent maps; no lock is held while walking it
+            VisitorDirectory.getInstance().forEach(null, v -> row(() -> writeVisitor(out, v)));
+            return;
+        }
+        for (Visitor v : VisitorDirectory.getInstance().getVisitorsForAgent(f.agent)) {
+            writeVisitor(out, v);
+        }
+    }
+
+    private static void writeVisitor(RowWriter out, Visitor v) throws IOException {
+        out.str(v.getName()).str(v.getEmail()).str(v.getPhone()).bool(v.hasMailingListConsent())
+                .num(v.getCheckInHistory().size()).endRow();
+    }
+
+    // the events the filter covers, oldest first
+    private static List<Event> events(Filter f, boolean byStart) {
+        EventRegistry registry = EventRegistry.getInstance();
+        List<Event> candidates;
+        if (f.house != null) {
+            candidates = registry.getEventsForHouse(f.house);
+        } else if (f.agent != null) {
+            candidates = registry.getEventsForAgent(f.agent);
+        } else {
+            candidates = new ArrayList<>(registry.size());
+            for (EventState state : EventState.values()) {
+                candidates.addAll(registry.getEvents(state));
+            }
+        }
+        List<Event> events = new ArrayList<>(candidates.size());
+        for (Event e : candidates) {
+            if (f.agent != null && e.getAgent() != f.agent) continue;
+            if (byStart && !f.inRange(e.getStartTime())) continue;
+            events.add(e);
+        }
+        events.sort(Comparator.comparing(Event::getStartTime).thenComparingLong(Event::getId));
+        return events;
+    }
+
+    private static String agentName(Event e) {
+        return e.getAgent() != null ? e.getAgent().getName() : null;
+    }
+
+    /** Pairs of references copied out under a model lock, reused from event to event. */
+    private static final class Refs<A, B> {
+        private Object[] firsts = new Object[256];
+        private Object[] seconds = new Object[256];
+        private int size;
+
+        void add(A a, B b) {
+            if (size == firsts.length) {
+                firsts = Arrays.copyOf(firsts, size * 2);
+                seconds = Arrays.copyOf(seconds, size * 2);
+            }
+            firsts[size] = a;
+            seconds[size] = b;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        @SuppressWarnings("unchecked")
+        A first(int i) {
+            return (A) firsts[i];
+        }
+
+        @SuppressWarnings("unchecked")
+        B second(int i) {
+            return (B) seconds[i];
+        }
+
+        void clear() {
+            Arrays.fill(firsts, 0, size, null);
+            Arrays.fill(seconds, 0, size, null);
+            size = 0;
+        }
+    }
+
+    private interface RowAction {
+        void write() throws IOException;
+    }
+
+    // VisitorDirectory.forEach takes a plain lambda; carry IOExceptions out through it
+    private static void row(RowAction action) {
+        try {
+            action.write();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /** One row at a time into a buffered channel, as CSV or JSON Lines. */
+    private static final class RowWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private final StringBuilder line = new StringBuilder(256);
+        private final Format format;
+        private final String[] columns;
+        private int column;
+        private long rows;
+
+        RowWriter(Path path, Format format, String[] columns) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.format = format;
+            this.columns = columns;
+            if (format == Format.CSV) {
+                for (int i = 0; i < columns.length; i++) {
+                    if (i > 0) line.append(',');
+                    line.append(columns[i]);
+                }
+                line.append('\n');
+                emit();
+            }
+        }
+
+        long getRows() {
+            return rows;
+        }
+
+        RowWriter str(String value) {
+            if (value == null) return raw("null", "");
+            if (format == Format.CSV) {
+                startField();
+                csvQuote(value);
+            } else {
+                startField();
+                jsonQuote(value);
+            }
+            return this;
+        }
+
+        RowWriter num(long value) {
+            startField();
+            line.append(value);
+            return this;
+        }
+
+        RowWriter bool(boolean value) {
+            startField();
+            line.append(value);
+            return this;
+        }
+
+        RowWriter time(LocalDateTime value) {
+            return value == null ? raw("null", "") : str(value.toString());
+        }
+
+        // a value written as-is: jsonForm for JSON Lines, csvForm for CSV
+        private RowWriter raw(String jsonForm, String csvForm) {
+            startField();
+            line.append(format == Format.CSV ? csvForm : jsonForm);
+            return this;
+        }
+
+        private void startField() {
+            if (format == Format.CSV) {
+                if (column > 0) line.append(',');
+            } else {
+                line.append(column == 0 ? '{' : ',');
+                line.append('"').append(columns[column]).append("\":");
+            }
+            column++;
+        }
+
+        void endRow() throws IOException {
+            if (format == Format.JSONL) {
+                line.append(column == 0 ? "{}" : "}");
+            }
+            line.append('\n');
+            column = 0;
+            rows++;
+            emit();
+        }
+
+        private void csvQuote(String s) {
+            boolean quote = false;
+            for (int i = 0; i < s.length() && !quote; i++) {
+                char c = s.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                line.append(s);
+                return;
+            }
+            line.append('"');
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == '"') line.append('"');
+                line.append(c);
+            }
+            line.append('"');
+        }
+
+        private void jsonQuote(String s) {
+            line.append('"');
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '"':  line.append("\\\""); break;
+                    case '\\': line.append("\\\\"); break;
+                    case '\n': line.append("\\n"); break;
+                    case '\r': line.append("\\r"); break;
+                    case '\t': line.append("\\t"); break;
+                    default:
+                        if (c < 0x20) {
+                            line.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            line.append(c);
+                        }
+                }
+            }
+            line.append('"');
+        }
+
+        // encode the finished line into the buffer, draining it to disk when full
+        private void emit() throws IOException {
+            CharBuffer chars = CharBuffer.wrap(line);
+            while (true) {
+                CoderResult result = encoder.encode(chars, buffer, false);
+                if (result.isOverflow()) {
+                    drain();
+                } else if (result.isUnderflow()) {
+                    break;
+                } else {
+                    result.throwException();
+                }
+            }
+            line.setLength(0);
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,492 @@
+package org.finalproject.system;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/*
+ * Builds a realistic object graph (agents, houses, events, invitees, RSVPs,
+ * check-ins) from a seed, through the same Agent/Event/Login calls the GUI
+ * uses, so everything is journaled and indexed as if people had typed it.
+ *
+ * The same seed and settings always give the same dataset: names, prices,
+ * event IDs and times, who was invited and who came, in the same order.
+ * Nothing reads the wall clock; "now" for the dataset is baseTime, and event
+ * IDs come from a private IdAllocator whose clock is pinned to it. The
+ * Dataset returned carries a SHA-256 over everything generated, so two runs
+ * can be compared with one string.
+ *
+ * Shape of the data:
+ *   - each agent lists housesPerAgent houses; sharedHouseRatio of those are
+ *     a previous agent's house (like house1 in the demo seed)
+ *   - events fall between pastDays before and futureDays after baseTime, in
+ *     the 10:00 / 13:00 / 16:00 slots; past ones are closed, running ones
+ *     active, future ones scheduled (uninvitedRatio of those with nobody
+ *     invited yet)
+ *   - invitees come mostly from the agent's own pool of people, sometimes
+ *     from anyone's, so some visitors have been to several agents' houses
+ *   - YES and MAYBE invitees usually come, plus some walk-ins, up to capacity
+ *
+ * Counts vary around the configured means (+/- 50%). scaledTo(n) picks a
+ * shape for roughly n entities, from 10 to 10M.
+ */
+public class DatasetGenerator {
+
+    // the generated world's "now"
+    public static final LocalDateTime DEFAULT_BASE_TIME = LocalDateTime.of(2025, 6, 2, 14, 0);
+
+    // node reserved for generated IDs, so they can't collide with live ones
+    private static final long GENERATOR_NODE = IdAllocator.MAX_NODE;
+
+    private static final String[] FIRST_NAMES = {
+            "Ava", "Ben", "Chloe", "Daniel", "Emma", "Felix", "Grace", "Henry", "Isla", "Jack",
+            "Kate", "Liam", "Maya", "Noah", "Olivia", "Paul", "Quinn", "Rosa", "Sam", "Tara",
+            "Uma", "Victor", "Wendy", "Xavier", "Yara", "Zane", "Aidan", "Bella", "Carlos", "Diana",
+            "Ethan", "Fiona", "Gabe", "Hana", "Ivan", "Julia", "Kai", "Lena", "Marco", "Nina" };
+
+    private static final String[] LAST_NAMES = {
+            "Adams", "Baker", "Chen", "Diaz", "Evans", "Fischer", "Garcia", "Hughes", "Ito", "Jones",
+            "Kim", "Lopez", "Miller", "Nguyen", "Owens", "Patel", "Quinn", "Reyes", "Smith", "Turner",
+            "Ueda", "Vargas", "Walker", "Xu", "Young", "Zhang", "Brooks", "Cruz", "Foster", "Grant",
+            "Hayes", "Jensen", "Khan", "Lee", "Morris", "Novak", "Ortiz", "Price", "Ross", "Silva" };
+
+    private static final String[] STREETS = {
+            "Main St", "University Ave", "Speedway Blvd", "Oak St", "Maple Ave", "Cedar Ln",
+            "Elm St", "Park Ave", "Lake Dr", "Hill Rd", "Sunset Blvd", "River Rd", "Pine St",
+            "Mesa Dr", "Canyon Rd", "Desert Ln", "Saguaro Way", "Mission Rd", "Grant Rd", "Broadway" };
+
+    private static final String[] ADJECTIVES = {
+            "Charming", "Spacious", "Modern", "Cozy", "Renovated", "Bright", "Classic", "Quiet" };
+
+    private static final String[] FEATURES = {
+            "open floor plan", "big backyard", "updated kitchen", "mountain views", "two-car garage",
+            "pool", "walk-in closets", "new roof", "solar panels", "corner lot" };
+
+    // the photos that ship with the app, front/inside pairs
+    private static final String[][] IMAGE_SETS = {
+            { "/org/finalproject/images/houses/mainhousefront.jpg",
+              "/org/finalproject/images/houses/mainhouseinside.jpg" },
+            { "/org/finalproject/images/houses/oakhousefront.jpg",
+              "/org/finalproject/images/houses/oakhouseinside.jpg" } };
+
+    private static final int[] SLOT_HOURS = { 10, 13, 16 };
+    private static final int[] DURATIONS = { 90, 120, 120, 180 };
+
+    private final long seed;
+
+    private int agents = 10;
+    private int housesPerAgent = 6;
+    private double sharedHouseRatio = 0.1;
+    private int eventsPerHouse = 3;
+    private int inviteesPerEvent = 40;
+    private int peoplePerAgent = 300;
+    private double consentRatio = 0.6;
+    private double uninvitedRatio = 0.15;
+    private int pastDays = 90;
+    private int futureDays = 60;
+    private LocalDateTime baseTime = DEFAULT_BASE_TIME;
+    private int hashIterations = 1_000;
+
+    public DatasetGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * A generator sized for about this many entities in total (agents,
+     * houses, events, people, invitations and check-ins).
+     */
+    public static DatasetGenerator scaledTo(long entities, long seed) {
+        DatasetGenerator g = new DatasetGenerator(seed);
+        double perAgent = g.entitiesPerAgent();
+        if (entities >= perAgent) {
+            g.agents = (int) Math.min(Integer.MAX_VALUE, Math.round(entities / perAgent));
+        } else {
+            // smaller than one agent's worth: shrink the agent instead
+            double f = Math.max(0, entities) / perAgent;
+            g.agents = 1;
+            g.housesPerAgent = Math.max(1, (int) Math.round(g.housesPerAgent * Math.cbrt(f)));
+            g.eventsPerHouse = Math.max(1, (int) Math.round(g.eventsPerHouse * Math.cbrt(f)));
+            g.inviteesPerEvent = (int) Math.round(g.inviteesPerEvent * Math.cbrt(f));
+            g.peoplePerAgent = Math.max(1, (int) Math.round(g.peoplePerAgent * f));
+        }
+        return g;
+    }
+
+    // measured mean: uninvited events and repeat invites trim invitations, check-ins add
+    // back about 40%, and some of the pool is never picked
+    private double entitiesPerAgent() {
+        double events = (double) housesPerAgent * eventsPerHouse;
+        return 1 + housesPerAgent + events + peoplePerAgent * 0.85 + events * inviteesPerEvent;
+    }
+
+    public DatasetGenerator agents(int agents) {
+        this.agents = Math.max(0, agents);
+        return this;
+    }
+
+    public DatasetGenerator housesPerAgent(int housesPerAgent) {
+        this.housesPerAgent = Math.max(0, housesPerAgent);
+        return this;
+    }
+
+    public DatasetGenerator sharedHouseRatio(double ratio) {
+        this.sharedHouseRatio = ratio;
+        return this;
+    }
+
+    public DatasetGenerator eventsPerHouse(int eventsPerHouse) {
+        this.eventsPerHouse = Math.max(0, eventsPerHouse);
+        return this;
+    }
+
+    public DatasetGenerator inviteesPerEvent(int inviteesPerEvent) {
+        this.inviteesPerEvent = Math.max(0, inviteesPerEvent);
+        return this;
+    }
+
+    public DatasetGenerator peoplePerAgent(int peoplePerAgent) {
+        this.peoplePerAgent = Math.max(1, peoplePerAgent);
+        return this;
+    }
+
+    public DatasetGenerator consentRatio(double ratio) {
+        this.consentRatio = ratio;
+        return this;
+    }
+
+    /** Share of future events that have no invitees yet. */
+    public DatasetGenerator uninvitedRatio(double ratio) {
+        this.uninvitedRatio = ratio;
+        return this;
+    }
+
+    public DatasetGenerator window(int pastDays, int futureDays) {
+        this.pastDays = Math.max(0, pastDays);
+        this.futureDays = Math.max(0, futureDays);
+        return this;
+    }
+
+    public DatasetGenerator baseTime(LocalDateTime baseTime) {
+        this.baseTime = baseTime;
+        return this;
+    }
+
+    /** PBKDF2 cost for the Login from newLogin(); real logins use far more. */
+    public DatasetGenerator hashIterations(int hashIterations) {
+        this.hashIterations = hashIterations;
+        return this;
+    }
+
+    /** An empty Login whose password salts also come from the seed. */
+    public Login newLogin() {
+        return new Login(new CredentialStore(hashIterations, new Random(seed)));
+    }
+
+    /** newLogin(), populated. */
+    public Dataset generate() {
+        return populate(newLogin());
+    }
+
+    /**
+     * Add the generated agents and everything they own to login (and the
+     * event registry / visitor directory). Agents are named so they don't
+     * clash with each other; adding to a Login that already has an account
+     * by the same name skips that agent.
+     *
+     * The registry and directory are process-wide, and event IDs depend
+     * only on baseTime, so this runs once per process (or after clearing
+     * both). A second call with the same baseTime would register events
+     * under IDs already in use; it prints why and returns null instead.
+     * The people count is the visitors this call added to the directory.
+     */
+    public Dataset populate(Login login) {
+        Random random = new Random(seed);
+        long pinned = baseTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+        IdAllocator ids = new IdAllocator(GENERATOR_NODE, () -> pinned);
+        if (EventRegistry.getInstance().getEvent(new IdAllocator(GENERATOR_NODE, () -> pinned).nextId()) != null) {
+            System.out.println("A dataset for " + baseTime + " was already generated in this process; "
+                    + "start a fresh one (or clear EventRegistry and VisitorDirectory) to generate again.");
+            return null;
+        }
+        VisitorDirectory directory = VisitorDirectory.getInstance();
+        int peopleBefore = directory.size();
+
+        Dataset out = new Dataset(login);
+        long people = (long) agents * peoplePerAgent;
+        List<House> previousHouses = new ArrayList<>();
+
+        for (int a = 0; a < agents; a++) {
+            Agent agent = newAgent(a);
+            if (!login.addPerson(agent)) continue;
+            out.agents++;
+            out.digest("agent", agent.getName());
+
+            List<House> houses = new ArrayList<>(housesPerAgent);
+            for (int h = 0; h < housesPerAgent; h++) {
+                House house;
+                if (!previousHouses.isEmpty() && random.nextDouble() < sharedHouseRatio) {
+                    house = previousHouses.get(random.nextInt(previousHouses.size()));
+                    out.digest("shared", house.getAddress());
+                } else {
+                    house = newHouse(out.houses++, random);
+                    out.digest("house", house.getAddress(), Integer.toString(house.getPrice()));
+                }
+                if (houses.contains(house)) continue;
+                agent.addProperty(house);
+                houses.add(house);
+            }
+
+            long poolStart = (long) a * peoplePerAgent;
+            for (House house : houses) {
+                int events = vary(eventsPerHouse, random);
+                for (int e = 0; e < events; e++) {
+                    Event event = newEvent(agent, house, ids, random);
+                    if (event == null) continue;
+                    out.events++;
+                    fillEvent(event, poolStart, people, directory, random, out);
+                }
+            }
+            previousHouses = houses;
+        }
+
+        IdAllocator.getInstance().observe(ids.nextId());
+        out.people = directory.size() - peopleBefore;
+        return out;
+    }
+
+    private Agent newAgent(int a) {
+        int n = FIRST_NAMES.length * LAST_NAMES.length;
+        String name = FIRST_NAMES[a % FIRST_NAMES.length] + " "
+                + LAST_NAMES[(a / FIRST_NAMES.length) % LAST_NAMES.length]
+                + (a >= n ? " " + (a / n + 1) : "");
+        String email = "agent" + a + "@realty.example.com";
+        return new Agent(name, email, phone(a), name, "pass" + a);
+    }
+
+    private House newHouse(int index, Random random) {
+        String address = (100 + index / STREETS.length) + " " + STREETS[index % STREETS.length];
+        int beds = 1 + random.nextInt(6);
+        int baths = Math.max(1, beds - random.nextInt(2));
+        int sqft = 500 + beds * 350 + random.nextInt(600);
+        int price = (sqft * (150 + random.nextInt(300))) / 1000 * 1000;
+        int yearBuilt = 1920 + random.nextInt(105);
+        String description = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + beds + "-bed home with "
+                + FEATURES[random.nextInt(FEATURES.length)] + " and "
+                + FEATURES[random.nextInt(FEATURES.length)] + ".";
+        House house = new House(address, price, sqft, beds, baths, yearBuilt, description);
+        for (String path : IMAGE_SETS[random.nextInt(IMAGE_SETS.length)]) {
+            house.addImagePath(path);
+        }
+        return house;
+    }
+
+    // a free slot for this agent and house, or null after a few tries
+    private Event newEvent(Agent agent, House house, IdAllocator ids, Random random) {
+        LocalDateTime day = baseTime.toLocalDate().atStartOfDay();
+        for (int attempt = 0; attempt < 8; attempt++) {
+            LocalDateTime start = day.plusDays(random.nextInt(pastDays + futureDays + 1) - pastDays)
+                    .withHour(SLOT_HOURS[random.nextInt(SLOT_HOURS.length)]);
+            int duration = DURATIONS[random.nextInt(DURATIONS.length)];
+            if (agent.findConflict(house, start, duration) != null) continue;
+            int capacity = 20 + 5 * random.nextInt(11);
+            int code = 1000 + random.nextInt(9000);
+            return agent.createEvent(house, start, duration, capacity, code, ids.nextId());
+        }
+        return null;
+    }
+
+    private void fillEvent(Event event, long poolStart, long people, VisitorDirectory directory,
+                           Random random, Dataset out) {
+        boolean past = !event.getEndTime().isAfter(baseTime);
+        boolean running = !past && !event.getStartTime().isAfter(baseTime);
+        boolean uninvited = !past && !running && random.nextDouble() < uninvitedRatio;
+        String state = past ? "closed" : running ? "active" : "scheduled";
+        out.digest("event", event.getEventId(), event.getStartTime().toString(), state);
+        event.schedule();
+        if (uninvited) return; // invitations not sent yet
+
+        List<Visitor> invited = new ArrayList<>();
+        int invitees = vary(inviteesPerEvent, random);
+        for (int i = 0; i < invitees; i++) {
+            Visitor v = person(pick(poolStart, people, random), directory);
+            int before = event.getInviteeCount();
+            event.addInvitee(v);
+            if (event.getInviteeCount() == before) continue; // invited twice
+            RSVPStatus status = rsvp(random, past || running);
+            event.setRsvp(v, status);
+            invited.add(v);
+            out.invitations++;
+            out.digest("rsvp", v.getEmail(), status.name());
+        }
+        if (!past && !running) return;
+
+        event.activate();
+
+        // who actually came: most YES, some MAYBE, a few walk-ins
+        List<Visitor> arrivals = new ArrayList<>();
+        for (Visitor v : invited) {
+            RSVPStatus status = event.getRsvpStatus(v);
+            double p = status == RSVPStatus.YES ? 0.8 : status == RSVPStatus.MAYBE ? 0.4 : 0.05;
+            if (random.nextDouble() < p) arrivals.add(v);
+        }
+        int walkIns = random.nextInt(invitees / 5 + 2);
+        for (int i = 0; i < walkIns; i++) {
+            arrivals.add(person(pick(poolStart, people, random), directory));
+        }
+
+        LocalDateTime from = event.getStartTime();
+        LocalDateTime until = past ? event.getEndTime() : baseTime;
+        long windowSeconds = Math.max(1, Duration.between(from, until).getSeconds());
+        long step = Math.max(1, windowSeconds / Math.max(1, arrivals.size()));
+        for (int i = 0; i < arrivals.size() && !event.isFull(); i++) {
+            // ascending times, so the check-in log is a plain append
+            LocalDateTime when = from.plusSeconds(i * step + random.nextInt((int) Math.min(step, 60)));
+            if (event.checkIn(arrivals.get(i), when) != null) {
+                out.checkIns++;
+                out.digest("checkin", arrivals.get(i).getEmail(), when.toString());
+            }
+        }
+
+        if (past) event.close();
+    }
+
+    // mostly the agent's own people, sometimes anyone's
+    private long pick(long poolStart, long people, Random random) {
+        if (random.nextInt(10) == 0) {
+            return (long) (random.nextDouble() * people);
+        }
+        return poolStart + random.nextInt(peoplePerAgent);
+    }
+
+    private RSVPStatus rsvp(Random random, boolean started) {
+        int r = random.nextInt(100);
+        if (r < 45) return RSVPStatus.YES;
+        if (r < 60) return RSVPStatus.NO;
+        if (r < 75) return RSVPStatus.MAYBE;
+        // closer to the day fewer people have ignored the invite
+        return started && r < 85 ? RSVPStatus.YES : RSVPStatus.NO_RESPONSE;
+    }
+
+    /** Person number p; the same number is always the same name, email, phone and consent. */
+    private Visitor person(long p, VisitorDirectory directory) {
+        String first = FIRST_NAMES[(int) (p % FIRST_NAMES.length)];
+        String last = LAST_NAMES[(int) ((p / FIRST_NAMES.length) % LAST_NAMES.length)];
+        String email = first.toLowerCase(Locale.ROOT) + "." + last.toLowerCase(Locale.ROOT) + p + "@example.com";
+        Visitor v = directory.resolve(first + " " + last, email, phone(p + 10_000));
+        v.setMailingListConsent(unit(mix(seed ^ p)) < consentRatio);
+        return v;
+    }
+
+    // 10-digit, distinct for the first few billion n
+    private static String phone(long n) {
+        long area = 200 + (n / 10_000_000) % 800;
+        long rest = n % 10_000_000;
+        return String.format(Locale.ROOT, "%03d-%03d-%04d", area, rest / 10_000, rest % 10_000);
+    }
+
+    private static int vary(int mean, Random random) {
+        if (mean <= 1) return mean;
+        return mean / 2 + random.nextInt(mean + 1);
+    }
+
+    // SplitMix64 finalizer: per-person traits that don't depend on visit order
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double unit(long bits) {
+        return (bits >>> 11) * 0x1.0p-53;
+    }
+
+    /** What was generated, and a fingerprint of it. */
+    public static class Dataset {
+        private final Login login;
+        private final MessageDigest sha;
+        private String fingerprint;
+
+        int agents;
+        int houses;
+        int events;
+        int people;
+        long invitations;
+        long checkIns;
+
+        Dataset(Login login) {
+            this.login = login;
+            try {
+                this.sha = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        void digest(String kind, String... fields) {
+            sha.update(kind.getBytes(StandardCharsets.UTF_8));
+            for (String f : fields) {
+                sha.update((byte) 0);
+                sha.update(f.getBytes(StandardCharsets.UTF_8));
+            }
+            sha.update((byte) '\n');
+        }
+
+        public Login getLogin() {
+            return login;
+        }
+
+        public int getAgents() {
+            return agents;
+        }
+
+        public int getHouses() {
+            return houses;
+        }
+
+        public int getEvents() {
+            return events;
+        }
+
+        public int getPeople() {
+            return people;
+        }
+
+        public long getInvitations() {
+            return invitations;
+        }
+
+        public long getCheckIns() {
+            return checkIns;
+        }
+
+        public long getEntityCount() {
+            return agents + houses + events + people + invitations + checkIns;
+        }
+
+        /** Hex SHA-256 of everything generated; equal for equal seeds and settings. */
+        public synchronized String getFingerprint() {
+            if (fingerprint == null) {
+                StringBuilder sb = new StringBuilder();
+                for (byte b : sha.digest()) {
+                    sb.append(String.format(Locale.ROOT, "%02x", b));
+                }
+                fingerprint = sb.toString();
+            }
+            return fingerprint;
+        }
+
+        @Override
+        public String toString() {
+            return agents + " agents, " + houses + " houses, " + events + " events, "
+                    + people + " people, " + invitations + " invitations, " + checkIns
+                    + " check-ins (" + getEntityCount() + " entities), sha256 " + getFingerprint();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.finalproject.system;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Email body with {name}/{status}/{event}/{date}/{time} placeholders,
+ * parsed once into literal text and placeholder slots.
+ *
+ * bind(event) resolves the per-event fields up front, so rendering a
+ * recipient is a single pass into one pre-sized StringBuilder instead of
+ * a String.replace() per placeholder.
+ */
+public class EmailTemplate {
+
+    public enum Field {
+        NAME("{name}"),
+        STATUS("{status}"),
+        EVENT("{event}"),
+        DATE("{date}"),
+        TIME("{time}");
+
+        private final String token;
+
+        Field(String token) {
+            this.token = token;
+        }
+
+        public String getToken() {
+            return token;
+        }
+    }
+
+    // literals[i] comes before fields[i]; literals has one extra trailing entry
+    private final String[] literals;
+    private final Field[] fields;
+    private final int literalLength;
+
+    private EmailTemplate(String[] literals, Field[] fields) {
+        this.literals = literals;
+        this.fields = fields;
+        int len = 0;
+        for (String s : literals) {
+            len += s.length();
+        }
+        this.literalLength = len;
+    }
+
+    /**
+     * Parse body. Only the listed fields are treated as placeholders; any
+     * other {...} text is left as-is (the same as the old replace() calls).
+     */
+    public static EmailTemplate compile(String body, Field... recognized) {
+        if (body == null) body = "";
+
+        List<String> literals = new ArrayList<>();
+        List<Field> fields = new ArrayList<>();
+        int literalStart = 0;
+        int i = body.indexOf('{');
+
+        while (i >= 0) {
+            Field match = null;
+            for (Field f : recognized) {
+                if (body.startsWith(f.token, i)) {
+                    match = f;
+                    break;
+                }
+            }
+            if (match == null) {
+                i = body.indexOf('{', i + 1);
+                continue;
+            }
+            literals.add(body.substring(literalStart, i));
+            fields.add(match);
+            literalStart = i + match.token.length();
+            i = body.indexOf('{', literalStart);
+        }
+        literals.add(body.substring(literalStart));
+
+        return new EmailTemplate(literals.toArray(new String[0]), fields.toArray(new Field[0]));
+    }
+
+    /** Pre-resolve the fields that are the same for every recipient of event. */
+    public Bound bind(Event event) {
+        return new Bound(event);
+    }
+
+    /** A template with its event fields already filled in. */
+    public class Bound {
+        private final String eventValue;
+        private final String dateValue;
+        private final String timeValue;
+        private final int fixedLength;
+
+        private Bound(Event event) {
+            this.eventValue = event != null ? event.getAddress() : "";
+            this.dateValue = event != null ? event.getDate() : "";
+            this.timeValue = event != null ? event.getTime().toLocalTime().toString() : "";
+
+            int len = literalLength;
+            for (Field f : fields) {
+                if (f == Field.EVENT) len += eventValue.length();
+                else if (f == Field.DATE) len += dateValue.length();
+                else if (f == Field.TIME) len += timeValue.length();
+            }
+            this.fixedLength = len;
+        }
+
+        public String render(Visitor visitor) {
+            return render(visitor, null);
+        }
+
+        public String render(Visitor visitor, RSVPStatus status) {
+            String name = visitor != null ? visitor.getName() : "";
+            String statusValue = status != null ? status.toString() : Field.STATUS.token;
+
+            int size = fixedLength;
+            for (Field f : fields) {
+                if (f == Field.NAME) size += name.length();
+                else if (f == Field.STATUS) size += statusValue.length();
+            }
+
+            StringBuilder sb = new StringBuilder(size);
+            for (int i = 0; i < fields.length; i++) {
+                sb.append(literals[i]);
+                switch (fields[i]) {
+                    case NAME:   sb.append(name); break;
+                    case STATUS: sb.append(statusValue); break;
+                    case EVENT:  sb.append(eventValue); break;
+                    case DATE:   sb.append(dateValue); break;
+                    case TIME:   sb.append(timeValue); break;
+                    default: break;
+                }
+            }
+            sb.append(literals[fields.length]);
+            return sb.toString();
+        }
+    }
+}
@@ -2,81 +2,335 @@ package org.finalproject.system;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
 
 public class Event implements Serializable{
 
-    private String eventId;
+    private static final long serialVersionUID = 4237118747021917007L;
+
+    // open houses run two hours unless the agent says otherwise
+    public static final int DEFAULT_DURATION_MINUTES = 120;
+
+    private long id;               // from IdAllocator; unique across agents and processes
+    private String eventId;        // what people see
     private LocalDateTime startTime;
+    private int durationMinutes;
     private Agent agent;
     private House house;
     private int capacity;
-    private int attendance;
+    private AtomicInteger attendance;
     private List<Visitor> visitors;
     private int checkInCode;
 
-    // simple flags instead of state enums
-    private boolean scheduled;
-    private boolean active;
-    private boolean closed;
+    // normalized email -> visitor, for O(1) returning-visitor lookups; people
+    // without an email are keyed by phone digits (see visitorKey)
+    private ConcurrentHashMap<String, Visitor> visitorsByEmail;
+
+    // checked-in visitors with neither an email nor a phone, by identity
+    private Set<Visitor> anonymousVisitors;
+
+    // every check-in at this event, oldest first (append-only; guarded by
+    // checkIns). checkInVisitors[i] is who checkIns[i] belongs to.
+    private ArrayList<CheckInRecord> checkIns;
+    private ArrayList<Visitor> checkInVisitors;
+
+    // Several kiosks can check people in at once. Seats are claimed with a
+    // CAS on attendance; the per-visitor work is locked by email stripe so
+    // different visitors never wait on each other.
+    private static final int CHECK_IN_STRIPES = 32;
+    private transient Object[] checkInLocks;
+
+    // an ADD_INVITEES entry is the event key plus name, email, phone per invitee
+    private static final int MAX_INVITEES_PER_ENTRY = (JournalEntry.MAX_FIELDS - 1) / 3;
+
+    // simple flags instead of state enums (volatile: kiosks read them off the EDT)
+    private volatile boolean scheduled;
+    private volatile boolean active;
+    private volatile boolean closed;
+
+    // bit i set = reminder offset i (ReminderScheduler order) has gone out;
+    // kept here so a restart doesn't send them again
+    private volatile int remindersSent;
 
     // RSVP tracking
     private Map<Visitor, RSVPStatus> rsvps;
 
+    // Invitees grouped by status (insertion ordered), kept in sync with rsvps
+    // so counts are a size() call and lists don't rescan every invitee
+    private Map<RSVPStatus, Set<Visitor>> rsvpMembers;
+
     public Event(String eventId, LocalDateTime startTime,
                  Agent agent, House house, int capacity, int checkInCode) {
+        this(eventId, startTime, DEFAULT_DURATION_MINUTES, agent, house, capacity, checkInCode);
+    }
+
+    public Event(String eventId, LocalDateTime startTime, int durationMinutes,
+                 Agent agent, House house, int capacity, int checkInCode) {
+        this(IdAllocator.getInstance().nextId(), eventId, startTime, durationMinutes,
+             agent, house, capacity, checkInCode);
+    }
+
+    // replay passes the id the event was first created with
+    Event(long id, String eventId, LocalDateTime startTime, int durationMinutes,
+          Agent agent, House house, int capacity, int checkInCode) {
+        this.id = id;
         this.eventId = eventId;
         this.startTime = startTime;
+        this.durationMinutes = durationMinutes > 0 ? durationMinutes : DEFAULT_DURATION_MINUTES;
         this.agent = agent;
         this.house = house;
         this.capacity = capacity;
         this.checkInCode = checkInCode;
-        this.attendance = 0;
+        this.attendance = new AtomicInteger();
         this.visitors = new ArrayList<>();
+        this.visitorsByEmail = new ConcurrentHashMap<>();
+        this.anonymousVisitors = newAnonymousSet();
+        this.checkIns = new ArrayList<>();
+        this.checkInVisitors = new ArrayList<>();
+        this.checkInLocks = newCheckInLocks();
         this.scheduled = true;
         this.active = false;
         this.closed = false;
         this.rsvps = new LinkedHashMap<>();
+        this.rsvpMembers = new EnumMap<>(RSVPStatus.class);
+        for (RSVPStatus s : RSVPStatus.values()) {
+            rsvpMembers.put(s, new LinkedHashSet<>());
+        }
     }
 
     public boolean isFull() {
-        return attendance >= capacity;
+        return attendance.get() >= capacity;
     }
 
     public double getAttendanceRate() {
-        if (visitors.isEmpty()) return 0.0;
-        return (double) attendance / visitors.size();
+        int seen = getVisitorCount();
+        if (seen == 0) return 0.0;
+        return (double) attendance.get() / seen;
     }
 
     public boolean addVisitor(Visitor visitor) {
-        if (visitor == null) return false;
+        return checkIn(visitor, LocalDateTime.now()) != null;
+    }
+
+    /**
+     * Check a visitor in at the given time. Takes a seat, logs the check-in
+     * on this event and on the visitor, and returns the record; null if the
+     * event is not open or is full.
+     */
+    public CheckInRecord checkIn(Visitor visitor, LocalDateTime when) {
+        if (visitor == null || when == null) return null;
         if (!active || closed) {
-            System.out.println("Event is not open for check-in.");
-            return false;
-        }
-        if (isFull()) {
-            System.out.println("Event capacity full.");
-            return false;
+            ModelMessages.println("Event is not open for check-in.");
+            return null;
         }
-        if (!visitors.contains(visitor)) {
-            visitors.add(visitor);
+
+        // the same person at several open houses is one Visitor with one history
+        visitor = VisitorDirectory.getInstance().canonicalize(visitor);
+        String key = visitorKey(visitor);
+        int hash = key != null ? key.hashCode() : System.identityHashCode(visitor);
+        synchronized (checkInLocks[(hash & 0x7fffffff) % CHECK_IN_STRIPES]) {
+            if (!claimSeat()) {
+                ModelMessages.println("Event capacity full.");
+                return null;
+            }
+            boolean firstVisit = key != null
+                ? visitorsByEmail.putIfAbsent(key, visitor) == null
+                : anonymousVisitors.add(visitor);
+            if (firstVisit) {
+                synchronized (visitors) {
+                    visitors.add(visitor);
+                }
+            }
         }
-        attendance++;
+        CheckInRecord record = new CheckInRecord(visitor, this, when);
+        appendCheckIn(visitor, record);
+        visitor.addCheckInRecord(record);
+
+        PersistenceEngine.record(JournalEntry.Type.ADD_VISITOR, getJournalKey(),
+            visitor.getName(), visitor.getEmail(), visitor.getPhone(),
+            String.valueOf(visitor.hasMailingListConsent()), when.toString());
+        VisitorDirectory.getInstance().recordVisit(agent, visitor);
+        ModelEvents.getInstance().fireVisitorCheckedIn(this, visitor);
         
         // Auto-update RSVP to YES on successful check-in
         if (getRsvpStatus(visitor) != RSVPStatus.YES) {
             setRsvp(visitor, RSVPStatus.YES);
         }
         
-        return true;
+        return record;
+    }
+
+    // kiosks check in "now", so this is nearly always a plain append;
+    // a back-dated record is inserted at its place to keep the log sorted
+    private void appendCheckIn(Visitor visitor, CheckInRecord record) {
+        synchronized (checkIns) {
+            int n = checkIns.size();
+            if (n == 0 || !record.getTimestamp().isBefore(checkIns.get(n - 1).getTimestamp())) {
+                checkIns.add(record);
+                checkInVisitors.add(visitor);
+            } else {
+                int at = firstAtOrAfter(record.getTimestamp().plusNanos(1));
+                checkIns.add(at, record);
+                checkInVisitors.add(at, visitor);
+            }
+        }
+    }
+
+    /**
+     * Walks the check-in log in time order without copying it. Check-ins at
+     * this event wait on the lock meanwhile, so no I/O from the callback.
+     */
+    public void forEachCheckIn(BiConsumer<Visitor, CheckInRecord> action) {
+        synchronized (checkIns) {
+            for (int i = 0; i < checkIns.size(); i++) {
+                action.accept(checkInVisitors.get(i), checkIns.get(i));
+            }
+        }
+    }
+
+    /** Like forEachCheckIn, but only from <= time < to. */
+    public void forEachCheckIn(LocalDateTime from, LocalDateTime to, BiConsumer<Visitor, CheckInRecord> action) {
+        synchronized (checkIns) {
+            int hi = to == null ? checkIns.size() : firstAtOrAfter(to);
+            for (int i = from == null ? 0 : firstAtOrAfter(from); i < hi; i++) {
+                action.accept(checkInVisitors.get(i), checkIns.get(i));
+            }
+        }
+    }
+
+    /** All check-ins at this event in time order. */
+    public List<CheckInRecord> getCheckIns() {
+        synchronized (checkIns) {
+            return new ArrayList<>(checkIns);
+        }
+    }
+
+    /**
+     * Check-ins with from <= time < to, in time order (e.g. arrivals between
+     * 1 and 2pm). A null bound is open-ended, as in forEachCheckIn.
+     */
+    public List<CheckInRecord> getCheckIns(LocalDateTime from, LocalDateTime to) {
+        synchronized (checkIns) {
+            int lo = from == null ? 0 : firstAtOrAfter(from);
+            int hi = to == null ? checkIns.size() : firstAtOrAfter(to);
+            return lo < hi ? new ArrayList<>(checkIns.subList(lo, hi)) : new ArrayList<>();
+        }
+    }
+
+    public int getCheckInCount() {
+        synchronized (checkIns) {
+            return checkIns.size();
+        }
+    }
+
+    // index of the first record at or after t; caller holds the checkIns lock
+    private int firstAtOrAfter(LocalDateTime t) {
+        int lo = 0;
+        int hi = checkIns.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (checkIns.get(mid).getTimestamp().isBefore(t)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // take one seat if there is one left; never lets attendance pass capacity
+    private boolean claimSeat() {
+        while (true) {
+            int current = attendance.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (attendance.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** The visitor already checked in with this email (case-insensitive), or null. */
+    public Visitor findVisitorByEmail(String email) {
+        String key = normalizeEmail(email);
+        return key.isEmpty() ? null : visitorsByEmail.get(key);
+    }
+
+    /** Whether this (canonical) visitor has checked in here, email or not. */
+    public boolean hasCheckedIn(Visitor visitor) {
+        if (visitor == null) return false;
+        String key = visitorKey(visitor);
+        return key != null ? visitorsByEmail.get(key) == visitor : anonymousVisitors.contains(visitor);
+    }
+
+    // email if there is one, else "tel:" + the phone digits VisitorDirectory
+    // matches people on; null if neither (those are tracked by identity)
+    private static String visitorKey(Visitor visitor) {
+        String email = normalizeEmail(visitor.getEmail());
+        if (!email.isEmpty()) return email;
+        String phone = VisitorDirectory.phoneKey(visitor.getPhone());
+        return phone.isEmpty() ? null : "tel:" + phone;
+    }
+
+    private static Set<Visitor> newAnonymousSet() {
+        return Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    public static String normalizeEmail(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Object[] newCheckInLocks() {
+        Object[] locks = new Object[CHECK_IN_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    // kiosks and invitee imports change these off the snapshot's thread;
+    // hold their locks so a snapshot never sees (or trips over) a half-done change
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        synchronized (rsvps) {
+            synchronized (visitors) {
+                synchronized (checkIns) {
+                    out.defaultWriteObject();
+                }
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (checkIns == null || checkInVisitors == null || anonymousVisitors == null) {
+            throw new InvalidClassException(Event.class.getName(), "event " + eventId + " has no check-in log");
+        }
+        checkInLocks = newCheckInLocks();
     }
 
     public void schedule() {
         this.scheduled = true;
+        EventRegistry.getInstance().stateChanged(this);
+        PersistenceEngine.record(JournalEntry.Type.SCHEDULE, getJournalKey());
+        ModelEvents.getInstance().fireEventStateChanged(this);
     }
 
     public void activate() {
@@ -85,15 +339,81 @@ public class Event implements Serializable{
             this.active = true;
             this.closed = false;   // <-- reset closed so kiosk can see it again
         }
+        EventRegistry.getInstance().stateChanged(this);
+        PersistenceEngine.record(JournalEntry.Type.ACTIVATE, getJournalKey());
+        ModelEvents.getInstance().fireEventStateChanged(this);
     }
 
     public void close() {
         this.active = false;
         this.closed = true;
+        EventRegistry.getInstance().stateChanged(this);
+        PersistenceEngine.record(JournalEntry.Type.CLOSE, getJournalKey());
+        ModelEvents.getInstance().fireEventStateChanged(this);
+    }
+
+    /**
+     * Move the event to a new start time, keeping its duration. Returns false
+     * (and changes nothing) if the event is closed or the agent or house is
+     * busy then. Reminders start over for the new date.
+     */
+    public boolean reschedule(LocalDateTime newStart) {
+        if (newStart == null || closed) return false;
+        LocalDateTime oldStart = startTime;
+        if (newStart.equals(oldStart)) return true;
+
+        ScheduleIndex agentSchedule = agent != null ? agent.getSchedule() : null;
+        ScheduleIndex houseSchedule = house != null ? house.getSchedule() : null;
+        LocalDateTime newEnd = newStart.plusMinutes(durationMinutes);
+
+        // both indexes are keyed by start time, so step out before moving
+        if (agentSchedule != null) agentSchedule.remove(this);
+        if (houseSchedule != null) houseSchedule.remove(this);
+        Event conflict = agentSchedule != null ? agentSchedule.findConflict(newStart, newEnd) : null;
+        if (conflict == null && houseSchedule != null) {
+            conflict = houseSchedule.findConflict(newStart, newEnd);
+        }
+        if (conflict == null) {
+            startTime = newStart;
+            remindersSent = 0;
+        }
+        if (agentSchedule != null) agentSchedule.add(this);
+        if (houseSchedule != null) houseSchedule.add(this);
+
+        if (conflict != null) {
+            ModelMessages.println("There is already an event at this time: "
+                + conflict.getEventId() + " at " + conflict.getAddress());
+            return false;
+        }
+        PersistenceEngine.record(JournalEntry.Type.RESCHEDULE, getJournalKey(), newStart.toString());
+        ModelEvents.getInstance().fireEventRescheduled(this, oldStart);
+        return true;
+    }
+
+    int getRemindersSent() {
+        return remindersSent;
+    }
+
+    // called by ReminderScheduler once a batch is handed to MessagingService
+    synchronized void markRemindersSent(int mask) {
+        int updated = remindersSent | mask;
+        if (updated == remindersSent) return;
+        remindersSent = updated;
+        PersistenceEngine.record(JournalEntry.Type.REMINDER_SENT, getJournalKey(), Integer.toString(updated));
+    }
+
+    public EventState getState() {
+        if (closed) return EventState.CLOSED;
+        if (active) return EventState.ACTIVE;
+        return EventState.SCHEDULED;
     }
 
     // --- Getters ---
 
+    public long getId() {
+        return id;
+    }
+
     public String getEventId() {
         return eventId;
     }
@@ -102,6 +422,14 @@ public class Event implements Serializable{
         return startTime;
     }
 
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public LocalDateTime getEndTime() {
+        return startTime.plusMinutes(durationMinutes);
+    }
+
     public Agent getAgent() {
         return agent;
     }
@@ -115,11 +443,17 @@ public class Event implements Serializable{
     }
 
     public int getAttendance() {
-        return attendance;
+        return attendance.get();
     }
 
     public List<Visitor> getVisitors() {
-        return new ArrayList<>(visitors);
+        synchronized (visitors) {
+            return new ArrayList<>(visitors);
+        }
+    }
+
+    public int getVisitorCount() {
+        return visitorsByEmail.size() + anonymousVisitors.size();
     }
 
     public int getCheckInCode() {
@@ -150,6 +484,10 @@ public class Event implements Serializable{
         return house != null ? house.getAddress() : "";
     }
 
+    String getJournalKey() {
+        return Long.toString(id);
+    }
+
     // --- RSVP Methods ---
 
     public void addInvitee(Visitor visitor) {
@@ -160,56 +498,185 @@ public class Event implements Serializable{
             // Model stays silent; GUI will show the error
             return;
         }
-
-        rsvps.putIfAbsent(visitor, RSVPStatus.NO_RESPONSE);
+        visitor = VisitorDirectory.getInstance().canonicalize(visitor);
+
+        boolean added;
+        synchronized (rsvps) {
+            added = rsvps.putIfAbsent(visitor, RSVPStatus.NO_RESPONSE) == null;
+            if (added) {
+                rsvpMembers.get(RSVPStatus.NO_RESPONSE).add(visitor);
+                PersistenceEngine.record(JournalEntry.Type.ADD_INVITEE, getJournalKey(),
+                    visitor.getName(), visitor.getEmail(), visitor.getPhone());
+            }
+        }
+        if (added) {
+            ModelEvents.getInstance().fireRsvpChanged(this, visitor, null, RSVPStatus.NO_RESPONSE);
+        }
     }
 
 
+    /**
+     * Invite many people at once: one lock, one journal entry and one
+     * inviteesAdded notification for the whole batch. Returns the visitors
+     * (canonical) who were actually added; people already invited, or
+     * listed twice, are skipped. Nothing is added unless the event is
+     * scheduled or active and not closed.
+     */
+    public List<Visitor> addInvitees(List<Visitor> batch) {
+        List<Visitor> added = new ArrayList<>();
+        if (batch == null || batch.isEmpty() || closed || (!scheduled && !active)) {
+            return added;
+        }
+        VisitorDirectory directory = VisitorDirectory.getInstance();
+        synchronized (rsvps) {
+            Set<Visitor> waiting = rsvpMembers.get(RSVPStatus.NO_RESPONSE);
+            for (Visitor v : batch) {
+                if (v == null) continue;
+                v = directory.canonicalize(v);
+                if (rsvps.putIfAbsent(v, RSVPStatus.NO_RESPONSE) == null) {
+                    waiting.add(v);
+                    added.add(v);
+                }
+            }
+            if (!added.isEmpty() && PersistenceEngine.isActive()) {
+                // a huge batch goes to the journal as several entries
+                for (int from = 0; from < added.size(); from += MAX_INVITEES_PER_ENTRY) {
+                    int to = Math.min(added.size(), from + MAX_INVITEES_PER_ENTRY);
+                    String[] fields = new String[1 + (to - from) * 3];
+                    fields[0] = getJournalKey();
+                    int i = 1;
+                    for (Visitor v : added.subList(from, to)) {
+                        fields[i++] = v.getName();
+                        fields[i++] = v.getEmail();
+                        fields[i++] = v.getPhone();
+                    }
+                    PersistenceEngine.record(JournalEntry.Type.ADD_INVITEES, fields);
+                }
+            }
+        }
+        if (!added.isEmpty()) {
+            ModelEvents.getInstance().fireInviteesAdded(this, added);
+        }
+        return added;
+    }
+
     public void setRsvp(Visitor visitor, RSVPStatus status) {
         if (visitor == null || status == null || closed) {
             return;
         }
-        rsvps.put(visitor, status);
+        int yes;
+        RSVPStatus old;
+        synchronized (rsvps) {
+            old = rsvps.put(visitor, status);
+            if (old != status) {
+                if (old != null) {
+                    rsvpMembers.get(old).remove(visitor);
+                }
+                rsvpMembers.get(status).add(visitor);
+                PersistenceEngine.record(JournalEntry.Type.SET_RSVP, getJournalKey(),
+                    visitor.getName(), visitor.getEmail(), visitor.getPhone(), status.name());
+            }
+            yes = rsvpMembers.get(RSVPStatus.YES).size();
+        }
+        if (old != status) {
+            ModelEvents.getInstance().fireRsvpChanged(this, visitor, old, status);
+        }
         
         // Check for overbooking warning
-        if (status == RSVPStatus.YES && getRsvpCount(RSVPStatus.YES) > capacity) {
-            System.out.println("WARNING: Event " + eventId + " is overbooked! " 
-                + getRsvpCount(RSVPStatus.YES) + " YES RSVPs for " + capacity + " capacity.");
+        if (status == RSVPStatus.YES && yes > capacity) {
+            ModelMessages.println("WARNING: Event " + eventId + " is overbooked! " 
+                + yes + " YES RSVPs for " + capacity + " capacity.");
         }
     }
 
     public RSVPStatus getRsvpStatus(Visitor visitor) {
-        return rsvps.getOrDefault(visitor, RSVPStatus.NO_RESPONSE);
+        synchronized (rsvps) {
+            return rsvps.getOrDefault(visitor, RSVPStatus.NO_RESPONSE);
+        }
+    }
+
+    /** Whether the visitor is on the RSVP list at all (getRsvpStatus can't tell). */
+    public boolean isInvited(Visitor visitor) {
+        synchronized (rsvps) {
+            return rsvps.containsKey(visitor);
+        }
     }
 
     public int getRsvpCount(RSVPStatus status) {
-        int count = 0;
-        for (RSVPStatus s : rsvps.values()) {
-            if (s == status) {
-                count++;
-            }
+        if (status == null) return 0;
+        synchronized (rsvps) {
+            return rsvpMembers.get(status).size();
         }
-        return count;
     }
 
+    // Visitors with this status, in the order they reached it
     public List<Visitor> getRsvpList(RSVPStatus status) {
-        List<Visitor> result = new ArrayList<>();
-        for (Map.Entry<Visitor, RSVPStatus> entry : rsvps.entrySet()) {
-            if (entry.getValue() == status) {
-                result.add(entry.getKey());
-            }
+        if (status == null) return new ArrayList<>();
+        synchronized (rsvps) {
+            return new ArrayList<>(rsvpMembers.get(status));
         }
-        return result;
     }
 
     public Map<Visitor, RSVPStatus> getAllRsvps() {
-        return new LinkedHashMap<>(rsvps);
+        synchronized (rsvps) {
+            return new LinkedHashMap<>(rsvps);
+        }
+    }
+
+    /**
+     * Walks every invitee and their RSVP, in invitation order, without
+     * copying. The RSVP lock is held throughout, so don't change this
+     * event's RSVPs or do I/O from the callback.
+     */
+    public void forEachRsvp(BiConsumer<Visitor, RSVPStatus> action) {
+        synchronized (rsvps) {
+            for (Map.Entry<Visitor, RSVPStatus> entry : rsvps.entrySet()) {
+                action.accept(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    public int getInviteeCount() {
+        synchronized (rsvps) {
+            return rsvps.size();
+        }
     }
 
     public void removeRsvp(Visitor visitor) {
         if (!closed) {
-            rsvps.remove(visitor);
+            RSVPStatus old;
+            synchronized (rsvps) {
+                old = rsvps.remove(visitor);
+                if (old != null) {
+                    rsvpMembers.get(old).remove(visitor);
+                    PersistenceEngine.record(JournalEntry.Type.REMOVE_RSVP, getJournalKey(),
+                        visitor.getName(), visitor.getEmail(), visitor.getPhone());
+                }
+            }
+            if (old != null) {
+                ModelEvents.getInstance().fireRsvpChanged(this, visitor, old, null);
+            }
+        }
+    }
+
+    // --- Reports ---
+
+    public RsvpSummary getRsvpSummary() {
+        Map<RSVPStatus, Integer> counts = new EnumMap<>(RSVPStatus.class);
+        int total;
+        synchronized (rsvps) {
+            for (Map.Entry<RSVPStatus, Set<Visitor>> entry : rsvpMembers.entrySet()) {
+                counts.put(entry.getKey(), entry.getValue().size());
+            }
+            total = rsvps.size();
         }
+        return new RsvpSummary(eventId, getAddress(), getDate(), capacity, counts, total);
+    }
+
+    public EventOverview getOverview() {
+        return new EventOverview(eventId, getAddress(), startTime, checkInCode,
+            capacity, getAttendance(), getAttendanceRate(),
+            scheduled, active, closed, getRsvpSummary());
     }
 
     public boolean isOverbooked() {
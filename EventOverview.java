@@ -0,0 +1,81 @@
+package org.finalproject.system;
+
+import java.time.LocalDateTime;
+
+/*
+ * Everything the Events screen shows about one event, captured at once.
+ */
+public class EventOverview {
+
+    private final String eventId;
+    private final String address;
+    private final LocalDateTime startTime;
+    private final int checkInCode;
+    private final int capacity;
+    private final int attendance;
+    private final double attendanceRate;
+    private final boolean scheduled;
+    private final boolean active;
+    private final boolean closed;
+    private final RsvpSummary rsvpSummary;
+
+    EventOverview(String eventId, String address, LocalDateTime startTime, int checkInCode,
+                  int capacity, int attendance, double attendanceRate,
+                  boolean scheduled, boolean active, boolean closed, RsvpSummary rsvpSummary) {
+        this.eventId = eventId;
+        this.address = address;
+        this.startTime = startTime;
+        this.checkInCode = checkInCode;
+        this.capacity = capacity;
+        this.attendance = attendance;
+        this.attendanceRate = attendanceRate;
+        this.scheduled = scheduled;
+        this.active = active;
+        this.closed = closed;
+        this.rsvpSummary = rsvpSummary;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public int getCheckInCode() {
+        return checkInCode;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getAttendance() {
+        return attendance;
+    }
+
+    public double getAttendanceRate() {
+        return attendanceRate;
+    }
+
+    public boolean isScheduled() {
+        return scheduled;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public RsvpSummary getRsvpSummary() {
+        return rsvpSummary;
+    }
+}
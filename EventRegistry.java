@@ -0,0 +1,137 @@
+package org.finalproject.system;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Central index of every Event in the system.
+ *
+ * Keeps secondary indexes by lifecycle state, by house and by agent so
+ * the kiosk (and anything else) can ask for "all active events" without
+ * walking Login -> Agent -> House -> Event.
+ *
+ * Events are tracked by identity, so two agents with an "EVT-1" are
+ * still two different entries.
+ */
+public class EventRegistry {
+
+    private static final EventRegistry INSTANCE = new EventRegistry();
+
+    private final Map<Event, EventState> stateOf = new IdentityHashMap<>();
+    private final Map<EventState, Set<Event>> byState = new EnumMap<>(EventState.class);
+    // House does not override equals(), so insertion-ordered map is identity-keyed
+    private final Map<House, Set<Event>> byHouse = new LinkedHashMap<>();
+    private final Map<Agent, Set<Event>> byAgent = new IdentityHashMap<>();
+    private final LongHashMap<Event> byId = new LongHashMap<>();
+
+    private EventRegistry() {
+        for (EventState s : EventState.values()) {
+            byState.put(s, new LinkedHashSet<>());
+        }
+    }
+
+    public static EventRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /** Add an event to every index. Does nothing if it is already registered. */
+    public synchronized void register(Event event) {
+        if (event == null || stateOf.containsKey(event)) return;
+
+        EventState state = event.getState();
+        stateOf.put(event, state);
+        byState.get(state).add(event);
+        byId.put(event.getId(), event);
+
+        if (event.getHouse() != null) {
+            byHouse.computeIfAbsent(event.getHouse(), h -> new LinkedHashSet<>()).add(event);
+        }
+        if (event.getAgent() != null) {
+            byAgent.computeIfAbsent(event.getAgent(), a -> new LinkedHashSet<>()).add(event);
+        }
+    }
+
+    /** Called by Event when its lifecycle flags change. */
+    public synchronized void stateChanged(Event event) {
+        EventState old = stateOf.get(event);
+        if (old == null) return; // not registered
+
+        EventState now = event.getState();
+        if (old == now) return;
+
+        byState.get(old).remove(event);
+        byState.get(now).add(event);
+        stateOf.put(event, now);
+    }
+
+    public synchronized void unregister(Event event) {
+        EventState old = stateOf.remove(event);
+        if (old == null) return;
+
+        byState.get(old).remove(event);
+        byId.remove(event.getId());
+        removeFrom(byHouse, event.getHouse(), event);
+        removeFrom(byAgent, event.getAgent(), event);
+    }
+
+    public synchronized void clear() {
+        stateOf.clear();
+        for (Set<Event> set : byState.values()) {
+            set.clear();
+        }
+        byHouse.clear();
+        byAgent.clear();
+        byId.clear();
+    }
+
+    // --- Lookups (each returns a copy sized to the result) ---
+
+    /** The registered event with this Event.getId(), or null. */
+    public synchronized Event getEvent(long id) {
+        return byId.get(id);
+    }
+
+    public synchronized List<Event> getEvents(EventState state) {
+        return new ArrayList<>(byState.get(state));
+    }
+
+    public List<Event> getActiveEvents() {
+        return getEvents(EventState.ACTIVE);
+    }
+
+    public synchronized List<Event> getEventsForHouse(House house) {
+        Set<Event> set = byHouse.get(house);
+        return set == null ? Collections.emptyList() : new ArrayList<>(set);
+    }
+
+    public synchronized List<Event> getEventsForAgent(Agent agent) {
+        Set<Event> set = byAgent.get(agent);
+        return set == null ? Collections.emptyList() : new ArrayList<>(set);
+    }
+
+    /** Houses that have at least one registered event, in registration order. */
+    public synchronized List<House> getHousesWithEvents() {
+        return new ArrayList<>(byHouse.keySet());
+    }
+
+    public synchronized int size() {
+        return stateOf.size();
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Event>> index, K key, Event event) {
+        if (key == null) return;
+        Set<Event> set = index.get(key);
+        if (set == null) return;
+        set.remove(event);
+        if (set.isEmpty()) {
+            index.remove(key);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package org.finalproject.system;
+
+// Lifecycle state of an Event, derived from its scheduled/active/closed flags
+public enum EventState {
+    SCHEDULED,
+    ACTIVE,
+    CLOSED
+}
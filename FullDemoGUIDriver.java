@@ -1,19 +1,83 @@
 package org.finalproject.system;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import javax.swing.SwingUtilities;
 
 public class FullDemoGUIDriver {
 
-    public static void main(String[] args) {
+    // where snapshot + journal live; override with -Dopenhouse.data=...
+    private static final String DATA_DIR = System.getProperty("openhouse.data", "openhouse-data");
+
+    public static void main(String[] args) throws IOException {
+
+        // --headless runs the scripted workload instead of the GUI (see HeadlessDriver)
+        if (args.length > 0 && "--headless".equals(args[0])) {
+            HeadlessDriver.main(args);
+            return;
+        }
 
         System.out.println("=== OPEN HOUSE MANAGER FULL DEMO DRIVER ===");
 
         // -------------------------------------------------
-        // 1. Login system + demo agents
+        // 0. Load saved data (snapshot + journal), seed only on first run
+        // -------------------------------------------------
+        PersistenceEngine store = PersistenceEngine.open(Paths.get(DATA_DIR));
+        Login login = store.getLogin();
+
+        if (login.getAllPeople().isEmpty()) {
+            // -Dopenhouse.generate=N fills an empty store with ~N generated entities instead
+            String generate = System.getProperty("openhouse.generate");
+            if (generate != null) {
+                long seed = Long.getLong("openhouse.seed", 42L);
+                System.out.println("Generated " + DatasetGenerator.scaledTo(Long.parseLong(generate.trim()), seed)
+                        .populate(login));
+                System.out.println("Generated agents log in with password pass<N>, e.g. Ava Adams / pass0");
+            } else {
+                seedDemoData(login);
+            }
+            store.snapshot();
+        }
+
+        System.out.println("Login with:");
+        System.out.println("  Username: Aidan        Password: password");
+        System.out.println("  Username: Noah Agent   Password: noahpass");
+
+        store.startPeriodicSnapshots(5, SwingUtilities::invokeLater);
+
+        // dashboard numbers: counted once from what was loaded, then kept current
+        AnalyticsEngine.getInstance().start();
+        HouseSearchIndex.getInstance().start(login);
+        HouseRangeIndex.getInstance().start(login);
+
+        // RSVP reminders go out on their own (48h and 2h before by default)
+        ReminderScheduler reminders = new ReminderScheduler(new MessagingService());
+        reminders.start(SwingUtilities::invokeLater);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            reminders.stop();
+            store.close();
+        }, "store-shutdown"));
+
         // -------------------------------------------------
-        Login login = new Login();
+        // Launch GUI
+        // -------------------------------------------------
+        SwingUtilities.invokeLater(() -> {
+            OpenHouseManagerGUI gui = new OpenHouseManagerGUI(
+                    "OpenHouseManager - Full Demo",
+                    login
+            );
+            gui.setVisible(true);
+        });
+    }
 
+    // Hand-written demo data, only used when the store is empty
+    private static void seedDemoData(Login login) {
+
+        // -------------------------------------------------
+        // 1. Login system + demo agents
+        // -------------------------------------------------
         // NOTE: Login.login(...) currently checks person.getName() as the username.
         // So the "username" to type on the login screen is actually the NAME below.
         Agent aidan = new Agent(
@@ -35,10 +99,6 @@ public class FullDemoGUIDriver {
         login.addPerson(aidan);
         login.addPerson(noah);
 
-        System.out.println("Login with:");
-        System.out.println("  Username: Aidan        Password: password");
-        System.out.println("  Username: Noah Agent   Password: noahpass");
-
         // -------------------------------------------------
         // 2. Sample houses
         // -------------------------------------------------
@@ -146,11 +206,12 @@ public class FullDemoGUIDriver {
         // -------------------------------------------------
         // 4. Visitors, RSVPs, mailing list flags
         // -------------------------------------------------
-        Visitor v1 = new Visitor("Bob Visitor",   "bob@example.com",   "555-1111");
-        Visitor v2 = new Visitor("Carol Visitor", "carol@example.com", "555-2222");
-        Visitor v3 = new Visitor("Dave Visitor",  "dave@example.com",  "555-3333");
-        Visitor v4 = new Visitor("Eve Visitor",   "eve@example.com",   "555-4444");
-        Visitor v5 = new Visitor("Frank Visitor", "frank@example.com", "555-5555");
+        VisitorDirectory directory = VisitorDirectory.getInstance();
+        Visitor v1 = directory.resolve("Bob Visitor",   "bob@example.com",   "555-1111");
+        Visitor v2 = directory.resolve("Carol Visitor", "carol@example.com", "555-2222");
+        Visitor v3 = directory.resolve("Dave Visitor",  "dave@example.com",  "555-3333");
+        Visitor v4 = directory.resolve("Eve Visitor",   "eve@example.com",   "555-4444");
+        Visitor v5 = directory.resolve("Frank Visitor", "frank@example.com", "555-5555");
 
         // Mailing list consent (for Email panel)
         v1.setMailingListConsent(true);
@@ -191,45 +252,14 @@ public class FullDemoGUIDriver {
         // 5. Pre-populate some actual check-ins + records
         //    (for Check-in Records panel and attendance stats)
         // -------------------------------------------------
-        // For eventA (must be active to accept check-ins)
-        if (eventA.addVisitor(v1)) {
-            CheckInRecord rA1 = new CheckInRecord(
-                    v1,
-                    eventA,
-                    eATime.plusMinutes(5)
-            );
-            v1.addCheckInRecord(rA1);
-        }
-        if (eventA.addVisitor(v3)) {
-            CheckInRecord rA2 = new CheckInRecord(
-                    v3,
-                    eventA,
-                    eATime.plusMinutes(15)
-            );
-            v3.addCheckInRecord(rA2);
-        }
+        // For eventA (must be active to accept check-ins);
+        // checkIn() logs the record on both the event and the visitor
+        eventA.checkIn(v1, eATime.plusMinutes(5));
+        eventA.checkIn(v3, eATime.plusMinutes(15));
 
         // For eventC (simulate check-ins that happened before it was closed)
-        if (eventC.addVisitor(v2)) {
-            CheckInRecord rC1 = new CheckInRecord(
-                    v2,
-                    eventC,
-                    eCTime.plusMinutes(10)
-            );
-            v2.addCheckInRecord(rC1);
-        }
+        eventC.checkIn(v2, eCTime.plusMinutes(10));
         // Now close eventC so it won't appear in kiosk
         eventC.close();
-
-        // -------------------------------------------------
-        // 6. Launch GUI
-        // -------------------------------------------------
-        SwingUtilities.invokeLater(() -> {
-            OpenHouseManagerGUI gui = new OpenHouseManagerGUI(
-                    "OpenHouseManager - Full Demo",
-                    login
-            );
-            gui.setVisible(true);
-        });
     }
 }
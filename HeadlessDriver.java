@@ -0,0 +1,291 @@
+package org.finalproject.system;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/*
+ * Runs a scripted open-house workload through the same Login, Agent and
+ * Event calls the GUI makes, without Swing, and prints throughput and
+ * latency percentiles per operation.
+ *
+ *   java org.finalproject.system.FullDemoGUIDriver --headless [options]
+ *   java org.finalproject.system.HeadlessDriver [options]
+ *
+ * Options (defaults in brackets):
+ *   --agents N              agents to create [10]
+ *   --houses N              houses per agent [5]
+ *   --events N              events per house [4]
+ *   --invitees N            invitees per event [200]
+ *   --checkins N            check-ins per event [100]
+ *   --people N              distinct visitors shared by all events [5000]
+ *   --hash-iterations N     password hashing cost for in-memory runs
+ *                           [CredentialStore default]
+ *   --seed N                random seed [42]
+ *   --dataset N             first load a generated dataset of about N
+ *                           entities (DatasetGenerator, same seed) [none]
+ *   --data DIR              run against (and journal into) the store in DIR;
+ *                           without it everything stays in memory
+ */
+public class HeadlessDriver {
+
+    private static final RSVPStatus[] RSVP_MIX = {
+            RSVPStatus.YES, RSVPStatus.YES, RSVPStatus.MAYBE, RSVPStatus.NO, RSVPStatus.NO_RESPONSE };
+
+    // workload shape
+    private int agents = 10;
+    private int housesPerAgent = 5;
+    private int eventsPerHouse = 4;
+    private int inviteesPerEvent = 200;
+    private int checkInsPerEvent = 100;
+    private int people = 5_000;
+    private int hashIterations = CredentialStore.DEFAULT_ITERATIONS;
+    private long seed = 42;
+    private long datasetEntities;
+    private String dataDir;
+
+    private long remindersSent;
+
+    // one recorder per operation, printed in this order
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+
+    public static void main(String[] args) throws IOException {
+        HeadlessDriver driver = new HeadlessDriver();
+        if (!driver.parse(args)) {
+            System.exit(2);
+        }
+        driver.run();
+    }
+
+    boolean parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if ("--headless".equals(arg)) continue;
+            if (i + 1 >= args.length) {
+                System.out.println("Missing value for " + arg);
+                return false;
+            }
+            String value = args[++i];
+            try {
+                switch (arg) {
+                    case "--agents":          agents = Integer.parseInt(value); break;
+                    case "--houses":          housesPerAgent = Integer.parseInt(value); break;
+                    case "--events":          eventsPerHouse = Integer.parseInt(value); break;
+                    case "--invitees":        inviteesPerEvent = Integer.parseInt(value); break;
+                    case "--checkins":        checkInsPerEvent = Integer.parseInt(value); break;
+                    case "--people":          people = Integer.parseInt(value); break;
+                    case "--hash-iterations": hashIterations = Integer.parseInt(value); break;
+                    case "--seed":            seed = Long.parseLong(value); break;
+                    case "--dataset":         datasetEntities = Long.parseLong(value); break;
+                    case "--data":            dataDir = value; break;
+                    default:
+                        System.out.println("Unknown option: " + arg);
+                        return false;
+                }
+            } catch (NumberFormatException ex) {
+                System.out.println("Not a number for " + arg + ": " + value);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void run() throws IOException {
+        PersistenceEngine store = null;
+        Login login;
+        DatasetGenerator generator = datasetEntities > 0
+                ? DatasetGenerator.scaledTo(datasetEntities, seed).hashIterations(hashIterations)
+                : null;
+        if (dataDir != null) {
+            store = PersistenceEngine.open(Paths.get(dataDir));
+            login = store.getLogin();
+        } else if (generator != null) {
+            login = generator.newLogin();
+        } else {
+            login = new Login(new CredentialStore(hashIterations));
+        }
+
+        System.out.println("=== OPEN HOUSE MANAGER HEADLESS RUN ===");
+        System.out.println(agents + " agents x " + housesPerAgent + " houses x " + eventsPerHouse
+                + " events, " + inviteesPerEvent + " invitees and " + checkInsPerEvent
+                + " check-ins per event, " + people + " people"
+                + (store != null ? ", journaling to " + dataDir : ", in memory"));
+
+        // keep the model's per-call confirmations out of the timings; errors still print
+        boolean wasQuiet = ModelMessages.isQuiet();
+        ModelMessages.setQuiet(true);
+        DatasetGenerator.Dataset dataset = null;
+        long start = System.nanoTime();
+        try {
+            if (generator != null) {
+                dataset = timed("dataset.generate", () -> generator.populate(login));
+            }
+            workload(login);
+        } finally {
+            ModelMessages.setQuiet(wasQuiet);
+        }
+        long wall = System.nanoTime() - start;
+
+        if (store != null) {
+            store.close();
+        }
+
+        System.out.println();
+        if (dataset != null) {
+            System.out.println("dataset: " + dataset);
+        }
+        System.out.println(LatencyRecorder.header());
+        for (LatencyRecorder r : recorders.values()) {
+            System.out.println(r.summary());
+        }
+        System.out.println();
+        System.out.println(String.format("wall time %.2f s, %d events registered, %d distinct visitors, %d reminders sent",
+                wall / 1e9, EventRegistry.getInstance().size(), VisitorDirectory.getInstance().size(), remindersSent));
+    }
+
+    private void workload(Login login) {
+        Random random = new Random(seed);
+        LocalDateTime base = LocalDateTime.of(2030, 1, 7, 10, 0);
+        String runTag = Long.toString(System.currentTimeMillis(), 36); // keeps reruns against --data unique
+
+        // 1) accounts, the way CreateAccountPanel and LoginPanel do it
+        List<Agent> agentList = new ArrayList<>();
+        for (int a = 0; a < agents; a++) {
+            // Login keys accounts by Person.getName()
+            String name = "Agent " + runTag + "-" + a;
+            String password = "pw" + a;
+            Agent agent = new Agent(name, "agent" + a + "@example.com", "555-01" + a, name, password);
+            boolean added = timed("login.addPerson", () -> login.addPerson(agent));
+            if (added && timed("login.login", () -> login.login(name, password)) != null) {
+                agentList.add(agent);
+            }
+        }
+
+        // reminders run on a simulated clock that starts a few days before the first event
+        long clockStart = base.minusDays(3).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        // reminders are built and handed over, but nothing is actually mailed from a benchmark
+        MessagingService outbox = new MessagingService() {
+            @Override
+            public void enqueueEmails(List<Email> emails) {
+            }
+
+            @Override
+            public void sendAll() {
+            }
+        };
+        ReminderScheduler reminders = new ReminderScheduler(ReminderScheduler.DEFAULT_OFFSETS,
+                outbox, Duration.ofMinutes(1), 1024, clockStart);
+        ModelEvents.getInstance().addListener(reminders);
+
+        // 2) houses and events, as HousesPanel and the create-event dialog do
+        List<Event> events = new ArrayList<>();
+        for (Agent agent : agentList) {
+            int slot = 0;
+            for (int h = 0; h < housesPerAgent; h++) {
+                House house = new House((h + 1) + " " + agent.getName() + " Way",
+                        300_000 + random.nextInt(700_000), 900 + random.nextInt(3000),
+                        1 + random.nextInt(5), 1 + random.nextInt(4), 1950 + random.nextInt(75),
+                        "Generated house " + h);
+                time("agent.addProperty", () -> agent.addProperty(house));
+
+                for (int e = 0; e < eventsPerHouse; e++) {
+                    LocalDateTime when = base.plusDays(slot++);
+                    Event event = timed("agent.createEvent", () -> agent.createEvent(house, when,
+                            Event.DEFAULT_DURATION_MINUTES, checkInsPerEvent + 10, 1000 + random.nextInt(9000)));
+                    if (event == null) continue;
+                    time("event.activate", () -> {
+                        event.schedule();
+                        event.activate();
+                    });
+                    events.add(event);
+                }
+            }
+        }
+
+        // 3) invites and RSVPs from the events panel
+        VisitorDirectory directory = VisitorDirectory.getInstance();
+        for (Event event : events) {
+            List<Visitor> invited = new ArrayList<>(inviteesPerEvent);
+            for (int i = 0; i < inviteesPerEvent; i++) {
+                Visitor v = person(directory, random.nextInt(people));
+                time("event.addInvitee", () -> event.addInvitee(v));
+                invited.add(v);
+            }
+            for (Visitor v : invited) {
+                RSVPStatus status = RSVP_MIX[random.nextInt(RSVP_MIX.length)];
+                time("event.setRsvp", () -> event.setRsvp(v, status));
+            }
+        }
+
+        // 4) kiosk check-ins: directory lookup + Event.checkIn, like handleCheckIn()
+        for (Event event : events) {
+            LocalDateTime arrival = event.getStartTime();
+            for (int i = 0; i < checkInsPerEvent; i++) {
+                int p = random.nextInt(people);
+                LocalDateTime when = arrival.plusSeconds(i * 30L);
+                timed("kiosk.checkIn", () -> event.checkIn(person(directory, p), when));
+            }
+        }
+
+        // 5) email preparation from the email panel, and the reminder batch
+        for (Agent agent : agentList) {
+            for (Event event : EventRegistry.getInstance().getEventsForAgent(agent)) {
+                List<Visitor> recipients = event.getVisitors();
+                timed("agent.prepareEmails", () -> agent.prepareEmailsForEvent(event,
+                        "Thanks for visiting", "Hi {name}, thanks for stopping by!", recipients));
+                timed("agent.prepareReminders", () -> agent.prepareReminderEmails(event,
+                        "Reminder: {event}", "Hi {name}, see you on {date} at {time}."));
+            }
+        }
+
+        // 6) the reads screens do on every visit
+        for (Event event : events) {
+            timed("event.getOverview", event::getOverview);
+            timed("kiosk.activeEvents", () -> EventRegistry.getInstance().getActiveEvents());
+        }
+
+        // 7) push every event back past the agent's last one (always a free slot),
+        //    then run the reminder wheel minute by minute until they've all started
+        int shift = housesPerAgent * eventsPerHouse;
+        LocalDateTime last = base;
+        for (Event event : events) {
+            LocalDateTime moved = event.getStartTime().plusDays(shift);
+            timed("event.reschedule", () -> event.reschedule(moved));
+            if (moved.isAfter(last)) last = moved;
+        }
+        long end = last.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        for (long now = clockStart; now <= end; now += 60_000) {
+            long at = now;
+            timed("reminders.tick", () -> reminders.advanceTo(at));
+        }
+        ModelEvents.getInstance().removeListener(reminders);
+        remindersSent = reminders.getSentCount();
+    }
+
+    // the same person always resolves to the same canonical Visitor; 60% take emails
+    private static Visitor person(VisitorDirectory directory, int p) {
+        Visitor v = directory.resolve("Person " + p, "person" + p + "@example.com", "555-" + (1_000_000 + p));
+        v.setMailingListConsent(p % 10 < 6);
+        return v;
+    }
+
+    private <T> T timed(String operation, Supplier<T> op) {
+        LatencyRecorder recorder = recorders.computeIfAbsent(operation, LatencyRecorder::new);
+        long start = System.nanoTime();
+        T result = op.get();
+        recorder.record(System.nanoTime() - start);
+        return result;
+    }
+
+    private void time(String operation, Runnable op) {
+        recorders.computeIfAbsent(operation, LatencyRecorder::new).time(op);
+    }
+}
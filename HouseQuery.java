@@ -0,0 +1,128 @@
+package org.finalproject.system;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/*
+ * A set of numeric ranges a house has to fall in, e.g. "3+ beds, under
+ * $700k, built after 2000":
+ *
+ *   new HouseQuery().atLeast(Field.BEDS, 3).below(Field.PRICE, 700_000)
+ *           .above(Field.YEAR_BUILT, 2000)
+ *
+ * Bounds are inclusive; below/above are the exclusive shorthands. Fields
+ * left alone don't filter. HouseRangeIndex answers these without looking
+ * at every house; matches() is the plain check for a single house.
+ */
+public class HouseQuery {
+
+    public enum Field {
+        PRICE("price", House::getPrice),
+        SQFT("sqft", House::getSqft),
+        BEDS("beds", House::getBeds),
+        BATHS("baths", House::getBaths),
+        YEAR_BUILT("year built", House::getYearBuilt);
+
+        private final String label;
+        private final ToIntFunction<House> getter;
+
+        Field(String label, ToIntFunction<House> getter) {
+            this.label = label;
+            this.getter = getter;
+        }
+
+        public int of(House h) {
+            return getter.applyAsInt(h);
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final Field[] ALL = Field.values();
+    private static final int FIELDS = ALL.length;
+
+    private final int[] min = new int[FIELDS];
+    private final int[] max = new int[FIELDS];
+
+    public HouseQuery() {
+        Arrays.fill(min, Integer.MIN_VALUE);
+        Arrays.fill(max, Integer.MAX_VALUE);
+    }
+
+    public HouseQuery atLeast(Field f, int value) {
+        min[f.ordinal()] = Math.max(min[f.ordinal()], value);
+        return this;
+    }
+
+    public HouseQuery atMost(Field f, int value) {
+        max[f.ordinal()] = Math.min(max[f.ordinal()], value);
+        return this;
+    }
+
+    public HouseQuery between(Field f, int low, int high) {
+        return atLeast(f, low).atMost(f, high);
+    }
+
+    /** Strictly less than value. */
+    public HouseQuery below(Field f, int value) {
+        if (value == Integer.MIN_VALUE) return atMost(f, value).atLeast(f, Integer.MAX_VALUE);  // nothing
+        return atMost(f, value - 1);
+    }
+
+    /** Strictly more than value. */
+    public HouseQuery above(Field f, int value) {
+        if (value == Integer.MAX_VALUE) return atLeast(f, value).atMost(f, Integer.MIN_VALUE);  // nothing
+        return atLeast(f, value + 1);
+    }
+
+    public int getMin(Field f) {
+        return min[f.ordinal()];
+    }
+
+    public int getMax(Field f) {
+        return max[f.ordinal()];
+    }
+
+    public boolean isBounded(Field f) {
+        return min[f.ordinal()] != Integer.MIN_VALUE || max[f.ordinal()] != Integer.MAX_VALUE;
+    }
+
+    /** True if no field is restricted, i.e. every house matches. */
+    public boolean isEmpty() {
+        for (Field f : ALL) {
+            if (isBounded(f)) return false;
+        }
+        return true;
+    }
+
+    public boolean matches(House h) {
+        if (h == null) return false;
+        for (int i = 0; i < FIELDS; i++) {
+            int v = ALL[i].of(h);
+            if (v < min[i] || v > max[i]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        List<String> parts = new ArrayList<>();
+        for (Field f : ALL) {
+            if (!isBounded(f)) continue;
+            int lo = getMin(f);
+            int hi = getMax(f);
+            if (lo == Integer.MIN_VALUE) {
+                parts.add(f.getLabel() + " <= " + hi);
+            } else if (hi == Integer.MAX_VALUE) {
+                parts.add(f.getLabel() + " >= " + lo);
+            } else {
+                parts.add(f.getLabel() + " " + lo + ".." + hi);
+            }
+        }
+        return parts.isEmpty() ? "any house" : String.join(", ", parts);
+    }
+}
@@ -0,0 +1,324 @@
+package org.finalproject.system;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Answers HouseQuery range filters (price, sqft, beds, baths, year built)
+ * without calling five getters on every house.
+ *
+ * Each house gets an int id in the order it was added, and each field is
+ * kept twice:
+ *   - a column: int[] of the value by id, for checking one house
+ *   - a sorted column: long[] of (value << 32 | id), sorted, so the houses
+ *     with lo <= value <= hi are one contiguous slice found by two binary
+ *     searches
+ *
+ * Each sorted column is also cut into BUCKETS equal slices, with a
+ * range-encoded bitmap at every cut: prefix[f][k] has the ids of the
+ * first k buckets. The ids in any slice are then prefix[b] & ~prefix[a]
+ * for the whole buckets it covers, plus the few ids at its two ragged
+ * ends, so one field costs two bitmap passes however wide the range is.
+ *
+ * A query finds the slice of every bounded field. If the narrowest one is
+ * small it is walked and each id checked against the other fields'
+ * columns; otherwise every field's slice is turned into a bitmap and they
+ * are ANDed together. Either way hits end up in a reusable bitmap, so they
+ * come out in id order without sorting.
+ *
+ * The bitmaps cost about 20 bytes per house for all five fields, on top
+ * of 60 bytes for the columns.
+ *
+ * Sorted columns are rebuilt lazily: adding a house only appends to the
+ * plain columns and marks them stale; the next query re-sorts once.
+ * start(login) indexes every agent's listings and then follows
+ * houseAdded notifications, like HouseSearchIndex.
+ */
+public class HouseRangeIndex implements ModelListener {
+
+    private static final HouseQuery.Field[] FIELDS = HouseQuery.Field.values();
+
+    private static final int BUCKETS = 32;
+
+    private static final HouseRangeIndex INSTANCE = new HouseRangeIndex();
+
+    private final Map<House, Integer> idOf = new IdentityHashMap<>();
+    private House[] houses = new House[16];
+    private final int[][] columns = new int[FIELDS.length][16];
+    private final long[][] sorted = new long[FIELDS.length][];
+    private final long[][][] prefix = new long[FIELDS.length][][];
+    private boolean stale = true;
+    private long[] hits = new long[1];      // bitmap by id, cleared after each query
+    private long[] scratch = new long[1];
+    private int size;
+    private boolean started;
+
+    private HouseRangeIndex() {
+    }
+
+    public static HouseRangeIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /** Index every agent's houses, then keep up with new ones. */
+    public synchronized void start(Login login) {
+        if (started) return;
+        started = true;
+        if (login != null) {
+            for (Person p : login.getAllPeople()) {
+                if (!(p instanceof Agent)) continue;
+                for (House h : ((Agent) p).getProperties()) {
+                    add(h);
+                }
+            }
+        }
+        ModelEvents.getInstance().addListener(this);
+    }
+
+    public synchronized void stop() {
+        ModelEvents.getInstance().removeListener(this);
+        started = false;
+    }
+
+    @Override
+    public void houseAdded(Agent agent, House house) {
+        add(house);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void clear() {
+        idOf.clear();
+        Arrays.fill(houses, 0, size, null);
+        size = 0;
+        stale = true;
+    }
+
+    /** Adds a house; one already indexed is left alone. */
+    public synchronized void add(House house) {
+        if (house == null || idOf.containsKey(house)) return;
+        int id = size;
+        if (id == houses.length) {
+            int capacity = id + (id >> 1);
+            houses = Arrays.copyOf(houses, capacity);
+            for (int f = 0; f < FIELDS.length; f++) {
+                columns[f] = Arrays.copyOf(columns[f], capacity);
+            }
+        }
+        houses[id] = house;
+        for (int f = 0; f < FIELDS.length; f++) {
+            columns[f][id] = FIELDS[f].of(house);
+        }
+        idOf.put(house, id);
+        size++;
+        stale = true;
+    }
+
+    // ======================================================
+    // Queries
+    // ======================================================
+
+    /** Every indexed house matching q, in the order they were added. */
+    public List<House> query(HouseQuery q) {
+        return query(q, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Up to limit houses matching q among within (e.g. the houses the kiosk
+     * is showing, or one agent's listings); null means all houses. Houses
+     * in within that were never indexed are added first. When within is
+     * smaller than the narrowest slice its houses are checked directly and
+     * come back in within's order.
+     */
+    public synchronized List<House> query(HouseQuery q, int limit, Collection<House> within) {
+        List<House> results = new ArrayList<>();
+        if (limit <= 0) return results;
+        if (q == null || q.isEmpty()) {
+            for (House h : within != null ? within : Arrays.asList(houses).subList(0, size)) {
+                results.add(h);
+                if (results.size() >= limit) break;
+            }
+            return results;
+        }
+        if (within != null) {
+            for (House h : within) add(h);
+        }
+        if (stale) rebuild();
+
+        // slice [from, to) of each bounded field; drive from the narrowest
+        int driver = -1;
+        int driverFrom = 0;
+        int driverTo = size;
+        int[] bounded = new int[FIELDS.length];
+        int boundedCount = 0;
+        for (int f = 0; f < FIELDS.length; f++) {
+            if (!q.isBounded(FIELDS[f])) continue;
+            bounded[boundedCount++] = f;
+            int from = lowerBound(sorted[f], q.getMin(FIELDS[f]));
+            int to = upperBound(sorted[f], q.getMax(FIELDS[f]));
+            if (to <= from) return results;
+            if (driver < 0 || to - from < driverTo - driverFrom) {
+                driver = f;
+                driverFrom = from;
+                driverTo = to;
+            }
+        }
+
+        if (within != null && within.size() <= driverTo - driverFrom) {
+            for (House h : within) {
+                Integer id = idOf.get(h);
+                if (id == null || !inRange(id, q, bounded, boundedCount)) continue;
+                results.add(h);
+                if (results.size() >= limit) break;
+            }
+            return results;
+        }
+
+        if (driverTo - driverFrom <= size / 16) {
+            long[] keys = sorted[driver];
+            for (int i = driverFrom; i < driverTo; i++) {
+                int id = (int) keys[i];
+                if (inRange(id, q, bounded, boundedCount)) {
+                    hits[id >>> 6] |= 1L << id;
+                }
+            }
+        } else {
+            for (int k = 0; k < boundedCount; k++) {
+                int f = bounded[k];
+                int from = lowerBound(sorted[f], q.getMin(FIELDS[f]));
+                int to = upperBound(sorted[f], q.getMax(FIELDS[f]));
+                if (k == 0) {
+                    sliceBits(f, from, to, hits);
+                } else {
+                    sliceBits(f, from, to, scratch);
+                    for (int w = 0; w < hits.length; w++) {
+                        hits[w] &= scratch[w];
+                    }
+                }
+            }
+        }
+
+        Map<House, Boolean> allowed = null;
+        if (within != null) {
+            allowed = new IdentityHashMap<>();
+            for (House h : within) allowed.put(h, Boolean.TRUE);
+        }
+        // walk the bitmap in id order, clearing it for the next query
+        for (int w = 0; w < hits.length; w++) {
+            long word = hits[w];
+            if (word == 0) continue;
+            hits[w] = 0;
+            while (word != 0 && results.size() < limit) {
+                int id = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (allowed == null || allowed.containsKey(houses[id])) {
+                    results.add(houses[id]);
+                }
+            }
+        }
+        return results;
+    }
+
+    private boolean inRange(int id, HouseQuery q, int[] bounded, int boundedCount) {
+        for (int k = 0; k < boundedCount; k++) {
+            int f = bounded[k];
+            int v = columns[f][id];
+            if (v < q.getMin(FIELDS[f]) || v > q.getMax(FIELDS[f])) return false;
+        }
+        return true;
+    }
+
+    // ids at sorted positions [from, to) of field f, written over out
+    private void sliceBits(int f, int from, int to, long[] out) {
+        long[] keys = sorted[f];
+        int a = 0;
+        while (bucketStart(a) < from) a++;              // first cut inside the slice
+        int b = BUCKETS;
+        while (bucketStart(b) > to) b--;                // last cut inside the slice
+        if (a >= b) {
+            Arrays.fill(out, 0L);
+            setBits(keys, from, to, out);
+            return;
+        }
+        long[] upper = prefix[f][b];
+        long[] lower = prefix[f][a];
+        for (int w = 0; w < out.length; w++) {
+            out[w] = upper[w] & ~lower[w];
+        }
+        setBits(keys, from, bucketStart(a), out);
+        setBits(keys, bucketStart(b), to, out);
+    }
+
+    private static void setBits(long[] keys, int from, int to, long[] out) {
+        for (int i = from; i < to; i++) {
+            int id = (int) keys[i];
+            out[id >>> 6] |= 1L << id;
+        }
+    }
+
+    private int bucketStart(int k) {
+        return (int) ((long) k * size / BUCKETS);
+    }
+
+    // ======================================================
+    // Sorted columns
+    // ======================================================
+
+    private void rebuild() {
+        int words = (size >>> 6) + 1;
+        long[] none = new long[words];
+        for (int f = 0; f < FIELDS.length; f++) {
+            long[] keys = new long[size];
+            int[] column = columns[f];
+            for (int id = 0; id < size; id++) {
+                keys[id] = ((long) column[id] << 32) | id;
+            }
+            Arrays.sort(keys);
+            sorted[f] = keys;
+
+            long[][] cuts = new long[BUCKETS + 1][];
+            cuts[0] = none;
+            long[] bits = new long[words];
+            for (int k = 1; k <= BUCKETS; k++) {
+                setBits(keys, bucketStart(k - 1), bucketStart(k), bits);
+                cuts[k] = bits.clone();
+            }
+            prefix[f] = cuts;
+        }
+        hits = new long[words];
+        scratch = new long[words];
+        stale = false;
+    }
+
+    // first index whose value is >= min
+    private static int lowerBound(long[] keys, int min) {
+        return search(keys, (long) min << 32);
+    }
+
+    // first index whose value is > max
+    private static int upperBound(long[] keys, int max) {
+        if (max == Integer.MAX_VALUE) return keys.length;
+        return search(keys, (long) (max + 1) << 32);
+    }
+
+    // first index whose key is >= target
+    private static int search(long[] keys, long target) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < target) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
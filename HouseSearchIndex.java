@@ -0,0 +1,417 @@
+package org.finalproject.system;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+
+/*
+ * Search-as-you-type over every house's address and description.
+ *
+ * Text is split into lower-case words (runs of letters and digits).
+ *   - address words go into a prefix trie; each node knows how many
+ *     postings sit below it, so "how many houses does 'sp' match" is one
+ *     walk down the trie
+ *   - description words go into an inverted index: word -> house ids, in a
+ *     TreeMap so the word still being typed can be matched as a prefix
+ *     with one subMap range
+ *
+ * A query matches a house when every query word is the start of one of
+ * its address words, or is one of its description words (the last query
+ * word, which may be half-typed, also matches description words it
+ * starts). Candidates come from whichever query word matches the fewest
+ * houses; each is then checked against the other words using that
+ * house's own sorted word lists, and the walk stops once enough results
+ * are found. Lookups stay well under a millisecond at 100k houses.
+ *
+ * Houses get an int id in the order they are added. start(login) indexes
+ * every agent's listings and then follows houseAdded notifications;
+ * update(house) re-indexes one whose text changed.
+ */
+public class HouseSearchIndex implements ModelListener {
+
+    private static final HouseSearchIndex INSTANCE = new HouseSearchIndex();
+
+    /** Address trie node; children are kept sorted by character. */
+    private static final class Node {
+        char[] keys = new char[0];
+        Node[] children = new Node[0];
+        Postings postings;       // houses whose address has the word ending here
+        int below;               // postings in this node and every node under it
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrNew(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) return children[i];
+            i = -i - 1;
+            Node n = new Node();
+            keys = insert(keys, i, c);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, i);
+            grown[i] = n;
+            System.arraycopy(children, i, grown, i + 1, children.length - i);
+            children = grown;
+            return n;
+        }
+
+        private static char[] insert(char[] a, int i, char c) {
+            char[] grown = new char[a.length + 1];
+            System.arraycopy(a, 0, grown, 0, i);
+            grown[i] = c;
+            System.arraycopy(a, i, grown, i + 1, a.length - i);
+            return grown;
+        }
+    }
+
+    /** A growable, sorted int list of house ids. */
+    private static final class Postings {
+        int[] ids = new int[2];
+        int size;
+
+        void add(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) return;
+            at = -at - 1;
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) return false;
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+    }
+
+    private final Node addressRoot = new Node();
+    private final TreeMap<String, Postings> descriptionIndex = new TreeMap<>();
+
+    private final Map<House, Integer> idOf = new IdentityHashMap<>();
+    private House[] houses = new House[16];
+    private String[][] addressWords = new String[16][];       // sorted, unique
+    private String[][] descriptionWords = new String[16][];   // sorted, unique
+    private int[] seen = new int[16];                         // stamp per house, to skip duplicates
+    private int stamp;
+    private int size;
+    private boolean started;
+
+    private HouseSearchIndex() {
+    }
+
+    public static HouseSearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /** Index every agent's houses, then keep up with new ones. */
+    public synchronized void start(Login login) {
+        if (started) return;
+        started = true;
+        if (login != null) {
+            for (Person p : login.getAllPeople()) {
+                if (!(p instanceof Agent)) continue;
+                for (House h : ((Agent) p).getProperties()) {
+                    add(h);
+                }
+            }
+        }
+        ModelEvents.getInstance().addListener(this);
+    }
+
+    public synchronized void stop() {
+        ModelEvents.getInstance().removeListener(this);
+        started = false;
+    }
+
+    @Override
+    public void houseAdded(Agent agent, House house) {
+        add(house);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void clear() {
+        addressRoot.keys = new char[0];
+        addressRoot.children = new Node[0];
+        addressRoot.postings = null;
+        addressRoot.below = 0;
+        descriptionIndex.clear();
+        idOf.clear();
+        Arrays.fill(houses, 0, size, null);
+        size = 0;
+    }
+
+    // ======================================================
+    // Indexing
+    // ======================================================
+
+    /** Adds a house; a house already indexed is left alone (use update()). */
+    public synchronized void add(House house) {
+        if (house == null || idOf.containsKey(house)) return;
+        int id = size;
+        if (id == houses.length) {
+            int capacity = id + (id >> 1);
+            houses = Arrays.copyOf(houses, capacity);
+            addressWords = Arrays.copyOf(addressWords, capacity);
+            descriptionWords = Arrays.copyOf(descriptionWords, capacity);
+            seen = Arrays.copyOf(seen, capacity);
+        }
+        houses[id] = house;
+        idOf.put(house, id);
+        size++;
+        index(id);
+    }
+
+    /** Re-reads a house's address and description after they changed. */
+    public synchronized void update(House house) {
+        Integer id = house != null ? idOf.get(house) : null;
+        if (id == null) {
+            add(house);
+            return;
+        }
+        for (String w : addressWords[id]) {
+            removeAddressPosting(w, id);
+        }
+        for (String w : descriptionWords[id]) {
+            Postings p = descriptionIndex.get(w);
+            if (p != null && p.remove(id) && p.size == 0) descriptionIndex.remove(w);
+        }
+        index(id);
+    }
+
+    private void index(int id) {
+        House h = houses[id];
+        addressWords[id] = words(h.getAddress());
+        descriptionWords[id] = words(h.getDescription());
+        for (String w : addressWords[id]) {
+            Node node = addressRoot;
+            node.below++;
+            for (int i = 0; i < w.length(); i++) {
+                node = node.childOrNew(w.charAt(i));
+                node.below++;
+            }
+            if (node.postings == null) node.postings = new Postings();
+            node.postings.add(id);
+        }
+        for (String w : descriptionWords[id]) {
+            descriptionIndex.computeIfAbsent(w, k -> new Postings()).add(id);
+        }
+    }
+
+    private void removeAddressPosting(String word, int id) {
+        // find the path first so counts are only changed if the posting is there
+        Node[] path = new Node[word.length() + 1];
+        path[0] = addressRoot;
+        for (int i = 0; i < word.length(); i++) {
+            path[i + 1] = path[i].child(word.charAt(i));
+            if (path[i + 1] == null) return;
+        }
+        Node end = path[word.length()];
+        if (end.postings == null || !end.postings.remove(id)) return;
+        for (Node n : path) {
+            n.below--;
+        }
+    }
+
+    // ======================================================
+    // Searching
+    // ======================================================
+
+    /**
+     * Up to limit houses matching query, in the order they were added. If
+     * more than limit match, which ones are returned is not specified.
+     */
+    public List<House> search(String query, int limit) {
+        return search(query, limit, null);
+    }
+
+    /**
+     * Up to limit houses matching query among within (e.g. one agent's
+     * listings); null means all houses. A blank query matches nothing; show
+     * the full list instead. When within is smaller than what the query's
+     * best word matches, its houses are checked directly and come back in
+     * within's order.
+     */
+    public synchronized List<House> search(String query, int limit, Collection<House> within) {
+        List<House> results = new ArrayList<>();
+        String[] terms = words(query);
+        if (terms.length == 0 || limit <= 0) return results;
+        // still typing the last word unless the query ends in a separator
+        boolean lastIsPrefix = Character.isLetterOrDigit(query.charAt(query.length() - 1));
+        String lastTerm = lastWord(query);
+
+        // drive from the most selective word
+        int driver = 0;
+        long best = Long.MAX_VALUE;
+        for (int t = 0; t < terms.length; t++) {
+            long count = estimate(terms[t], isPrefix(terms[t], lastTerm, lastIsPrefix));
+            if (count < best) {
+                best = count;
+                driver = t;
+            }
+        }
+        if (best == 0) return results;
+
+        if (within != null && within.size() <= best) {
+            for (House h : within) {
+                Integer id = idOf.get(h);
+                if (id == null || !matchesAll(id, terms, lastTerm, lastIsPrefix)) continue;
+                results.add(h);
+                if (results.size() >= limit) break;
+            }
+            return results;
+        }
+        Set<House> allowed = null;
+        if (within != null) {
+            allowed = Collections.newSetFromMap(new IdentityHashMap<>());
+            allowed.addAll(within);
+        }
+        Set<House> filter = allowed;
+
+        String driveTerm = terms[driver];
+        boolean drivePrefix = isPrefix(driveTerm, lastTerm, lastIsPrefix);
+        if (++stamp == 0) {
+            Arrays.fill(seen, 0);
+            stamp = 1;
+        }
+        forEachCandidate(driveTerm, drivePrefix, id -> {
+            if (seen[id] == stamp) return true;
+            seen[id] = stamp;
+            if (!matchesAll(id, terms, lastTerm, lastIsPrefix)) return true;
+            House h = houses[id];
+            if (filter != null && !filter.contains(h)) return true;
+            results.add(h);
+            return results.size() < limit;
+        });
+        results.sort((x, y) -> Integer.compare(idOf.get(x), idOf.get(y)));
+        return results;
+    }
+
+    private static boolean isPrefix(String term, String lastTerm, boolean lastIsPrefix) {
+        return lastIsPrefix && term.equals(lastTerm);
+    }
+
+    private long estimate(String term, boolean prefix) {
+        Node n = find(term);
+        long count = n != null ? n.below : 0;
+        if (prefix) {
+            for (Postings p : descriptionRange(term).values()) {
+                count += p.size;
+            }
+        } else {
+            Postings p = descriptionIndex.get(term);
+            if (p != null) count += p.size;
+        }
+        return count;
+    }
+
+    // feeds each house id the term matches (possibly more than once) to
+    // action until it returns false
+    private void forEachCandidate(String term, boolean prefix, IntPredicate action) {
+        Node node = find(term);
+        if (node != null) {
+            ArrayList<Node> stack = new ArrayList<>();
+            stack.add(node);
+            while (!stack.isEmpty()) {
+                Node x = stack.remove(stack.size() - 1);
+                if (x.postings != null && !feed(x.postings, action)) return;
+                for (Node c : x.children) {
+                    if (c.below > 0) stack.add(c);
+                }
+            }
+        }
+        if (prefix) {
+            for (Postings p : descriptionRange(term).values()) {
+                if (!feed(p, action)) return;
+            }
+        } else {
+            Postings p = descriptionIndex.get(term);
+            if (p != null) feed(p, action);
+        }
+    }
+
+    private static boolean feed(Postings p, IntPredicate action) {
+        for (int i = 0; i < p.size; i++) {
+            if (!action.test(p.ids[i])) return false;
+        }
+        return true;
+    }
+
+    private boolean matchesAll(int id, String[] terms, String lastTerm, boolean lastIsPrefix) {
+        for (String t : terms) {
+            if (!hasWordStartingWith(addressWords[id], t)
+                    && !(isPrefix(t, lastTerm, lastIsPrefix)
+                            ? hasWordStartingWith(descriptionWords[id], t)
+                            : Arrays.binarySearch(descriptionWords[id], t) >= 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // words is sorted: the first word >= prefix is the only one that needs checking
+    private static boolean hasWordStartingWith(String[] words, String prefix) {
+        int i = Arrays.binarySearch(words, prefix);
+        if (i >= 0) return true;
+        i = -i - 1;
+        return i < words.length && words[i].startsWith(prefix);
+    }
+
+    private Node find(String prefix) {
+        Node node = addressRoot;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    private NavigableMap<String, Postings> descriptionRange(String prefix) {
+        return descriptionIndex.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    // ======================================================
+    // Words
+    // ======================================================
+
+    /** Sorted, unique lower-case words (runs of letters and digits). */
+    static String[] words(String text) {
+        if (text == null || text.isEmpty()) return new String[0];
+        List<String> out = new ArrayList<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean word = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                out.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return out.stream().sorted().distinct().toArray(String[]::new);
+    }
+
+    private static String lastWord(String query) {
+        int end = query.length();
+        int start = end;
+        while (start > 0 && Character.isLetterOrDigit(query.charAt(start - 1))) start--;
+        return query.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,200 @@
+package org.finalproject.system;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/*
+ * Hands out 64-bit IDs that are unique, increasing and roughly time-ordered.
+ *
+ *   | 41 bits: ms since 2024-01-01 | 10 bits: node | 12 bits: sequence |
+ *
+ * The node number keeps two processes writing to the same data from ever
+ * issuing the same ID. It comes from -Dopenhouse.node if set; otherwise
+ * PersistenceEngine.open claims one for its data directory (claimNode):
+ * the number saved in node.id, held by an OS lock on node-<n>.lock for as
+ * long as the process runs, so a second process on the same data finds it
+ * taken and claims another. Before that (or with no data directory) the
+ * node is derived from the process id, which can collide. Node MAX_NODE
+ * is never picked automatically; generated datasets use it.
+ *
+ * Within a node, up to 4096 IDs per millisecond; past
+ * that (or if the clock steps backwards) the allocator runs ahead of the
+ * clock instead of waiting, so IDs never repeat or go down.
+ *
+ * 41 bits of milliseconds lasts about 69 years from the epoch.
+ */
+public final class IdAllocator {
+
+    // 2024-01-01T00:00:00Z
+    static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQ_BITS = 12;
+    static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    static final long MAX_SEQ = (1L << SEQ_BITS) - 1;
+
+    // nodes handed out automatically: 0 .. MAX_NODE - 1
+    private static final long AUTO_NODES = MAX_NODE;
+
+    static final String NODE_FILE = "node.id";
+
+    private static final IdAllocator INSTANCE = new IdAllocator(defaultNode());
+
+    private long node;
+    private final LongSupplier clock;
+    private long lastMillis = -1;
+    private long sequence;
+
+    IdAllocator(long node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    /**
+     * An allocator on its own clock (epoch millis). A clock that never moves
+     * gives the same IDs in the same order on every run, which is what
+     * generated datasets need.
+     */
+    IdAllocator(long node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("node must be 0.." + MAX_NODE + ": " + node);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    public static IdAllocator getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized long nextId() {
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        if (now < lastMillis) {
+            now = lastMillis; // clock went backwards: stay on our own timeline
+        }
+        if (now == lastMillis) {
+            sequence = (sequence + 1) & MAX_SEQ;
+            if (sequence == 0) {
+                now = lastMillis + 1; // sequence used up: borrow the next millisecond
+            }
+        } else {
+            sequence = 0;
+        }
+        lastMillis = now;
+        return (now << (NODE_BITS + SEQ_BITS)) | (node << SEQ_BITS) | sequence;
+    }
+
+    /**
+     * Make sure every later ID is greater than one that was issued before,
+     * e.g. loaded from disk after the clock was set back.
+     */
+    public synchronized void observe(long id) {
+        long millis = id >>> (NODE_BITS + SEQ_BITS);
+        long seq = id & MAX_SEQ;
+        if (millis > lastMillis || (millis == lastMillis && seq > sequence)) {
+            lastMillis = millis;
+            sequence = seq;
+        }
+    }
+
+    /** Wall-clock time (epoch millis) at which the ID was issued. */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQ_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static int nodeOf(long id) {
+        return (int) ((id >>> SEQ_BITS) & MAX_NODE);
+    }
+
+    /** Short printable form, for IDs people see. */
+    public static String toString(long id) {
+        return Long.toString(id, 36).toUpperCase(Locale.ROOT);
+    }
+
+    private static long defaultNode() {
+        String configured = configuredNode();
+        if (configured != null) {
+            return Long.parseLong(configured);
+        }
+        return ProcessHandle.current().pid() % AUTO_NODES;
+    }
+
+    private static String configuredNode() {
+        String configured = System.getProperty("openhouse.node");
+        return configured == null ? null : configured.trim();
+    }
+
+    // the node this process holds, and the lock that holds it
+    private static Path claimedDir;
+    private static FileChannel claimChannel;
+
+    /**
+     * Claim a node for the data in dir: its saved node if no other process
+     * holds it, else the first free one. The lock is kept until the process
+     * exits (or another directory is claimed). Returns false, after
+     * printing why, if no node could be claimed; IDs then keep the
+     * process-id node. Does nothing when -Dopenhouse.node is set.
+     */
+    public static synchronized boolean claimNode(Path dir) {
+        if (configuredNode() != null) {
+            return true;
+        }
+        Path absolute = dir.toAbsolutePath().normalize();
+        if (absolute.equals(claimedDir)) {
+            return true; // reopened in the same process
+        }
+        try {
+            Path saved = absolute.resolve(NODE_FILE);
+            long preferred = -1;
+            if (Files.exists(saved)) {
+                try {
+                    preferred = Long.parseLong(new String(Files.readAllBytes(saved), StandardCharsets.UTF_8).trim());
+                } catch (NumberFormatException ex) {
+                    System.out.println("Ignoring unreadable " + saved);
+                }
+            }
+            if (preferred < 0 || preferred >= AUTO_NODES) {
+                preferred = ProcessHandle.current().pid() % AUTO_NODES;
+            }
+            for (long i = 0; i < AUTO_NODES; i++) {
+                long node = (preferred + i) % AUTO_NODES;
+                FileChannel channel = tryLock(absolute.resolve("node-" + node + ".lock"));
+                if (channel == null) continue;
+
+                if (node == preferred) {
+                    Files.write(saved, Long.toString(node).getBytes(StandardCharsets.UTF_8));
+                }
+                if (claimChannel != null) {
+                    claimChannel.close();
+                }
+                claimChannel = channel;
+                claimedDir = absolute;
+                synchronized (INSTANCE) {
+                    INSTANCE.node = node;
+                }
+                return true;
+            }
+            System.out.println("Every ID node for " + absolute + " is held by another process.");
+        } catch (IOException ex) {
+            System.out.println("Could not claim an ID node in " + absolute + ": " + ex.getMessage());
+        }
+        return false;
+    }
+
+    // an open channel holding an exclusive lock on path, or null if another process has it
+    private static FileChannel tryLock(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock = channel.tryLock();
+        if (lock == null) {
+            channel.close();
+            return null;
+        }
+        return channel;
+    }
+}
@@ -0,0 +1,437 @@
+package org.finalproject.system;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/*
+ * Streams an invitee list (CSV or JSON Lines) into an event.
+ *
+ * The file is read one line at a time; each row is normalized (trimmed,
+ * email lower-cased and sanity-checked), resolved to the canonical Visitor
+ * and queued. Every batchSize rows the queue goes to Event.addInvitees,
+ * which takes the RSVP lock, writes the journal and notifies listeners
+ * once for the whole batch. People already invited, or listed twice,
+ * count as duplicates; that falls out of the event's own RSVP map, so the
+ * importer keeps nothing per row beyond the current batch and the first
+ * MAX_REJECTS reject reasons.
+ *
+ * CSV: a header row naming name/email/phone columns (any order, extra
+ * columns ignored; e.g. "Full Name", "E-mail", "Mobile"); without one,
+ * columns are name, email, phone. The first row only counts as a header
+ * if it names an email column and contains no '@'. Quoted
+ * fields may contain commas, quotes ("") and line breaks.
+ * JSON Lines: one flat object per line with "name", "email", "phone".
+ *
+ * Meant to run off the EDT (see EventsPanel's Import button); progress
+ * goes to a listener after every batch.
+ */
+public class InviteeImporter {
+
+    public static final int DEFAULT_BATCH_SIZE = 1_000;
+    private static final int MAX_REJECTS = 100;
+
+    /** Called after each batch; fraction is how much of the file has been read (0..1). */
+    public interface ProgressListener {
+        void progress(Result soFar, double fraction);
+    }
+
+    /** A row that was not imported. */
+    public static class Reject {
+        private final long line;
+        private final String reason;
+
+        Reject(long line, String reason) {
+            this.line = line;
+            this.reason = reason;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + line + ": " + reason;
+        }
+    }
+
+    /** Counts so far (or final), plus the first few rejects. */
+    public static class Result {
+        private long rows;
+        private long added;
+        private long duplicates;
+        private long rejected;
+        private final List<Reject> rejects = new ArrayList<>();
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getAdded() {
+            return added;
+        }
+
+        public long getDuplicates() {
+            return duplicates;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        /** The first MAX_REJECTS rejects; getRejected() has the full count. */
+        public List<Reject> getRejects() {
+            return rejects;
+        }
+
+        @Override
+        public String toString() {
+            return rows + " rows: " + added + " added, " + duplicates + " duplicates, " + rejected + " rejected";
+        }
+    }
+
+    private final Event event;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private Executor modelThread = Runnable::run;
+
+    public InviteeImporter(Event event) {
+        this.event = event;
+    }
+
+    public InviteeImporter setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+        return this;
+    }
+
+    /**
+     * Where each batch is added to the event: the thread that owns the
+     * model (SwingUtilities::invokeLater in the GUI), so batches never
+     * interleave with a snapshot. Reading and parsing stay on the calling
+     * thread, which waits for each batch. Default: the calling thread.
+     */
+    public InviteeImporter setModelThread(Executor modelThread) {
+        this.modelThread = modelThread;
+        return this;
+    }
+
+    /**
+     * Import path into the event. Returns null (after printing why) if the
+     * event can't take invitees. Stops early, with what was imported so
+     * far, if the thread is interrupted.
+     */
+    public Result importFile(Path path, ProgressListener listener) throws IOException {
+        if (event == null || event.isClosed() || (!event.isScheduled() && !event.isActive())) {
+            System.out.println("Invitees can only be added to scheduled or open events.");
+            return null;
+        }
+        long size = Math.max(1, Files.size(path));
+        boolean json = DataExporter.Format.forPath(path) == DataExporter.Format.JSONL;
+
+        Result result = new Result();
+        VisitorDirectory directory = VisitorDirectory.getInstance();
+        List<Visitor> batch = new ArrayList<>(batchSize);
+        String[] row = new String[3];
+        int[] columns = { 0, 1, 2 };   // where name, email, phone are in a CSV row
+        boolean first = true;
+        long charsRead = 0;
+        long lineNo = 0;
+
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                lineNo++;
+                long startLine = lineNo;
+                charsRead += line.length() + 1;
+                if (line.trim().isEmpty()) continue;
+
+                String error;
+                if (json) {
+                    error = parseJson(line, row);
+                } else {
+                    // a quoted field can run over several lines
+                    while (openQuote(line)) {
+                        String more = in.readLine();
+                        if (more == null) break;
+                        lineNo++;
+                        charsRead += more.length() + 1;
+                        line = line + "\n" + more;
+                    }
+                    List<String> fields = splitCsv(line);
+                    if (first && isHeader(fields)) {
+                        first = false;
+                        columns = headerColumns(fields);
+                        continue;
+                    }
+                    error = pick(fields, columns, row);
+                }
+                first = false;
+                result.rows++;
+
+                if (error == null) error = normalize(row);
+                if (error != null) {
+                    reject(result, startLine, error);
+                    continue;
+                }
+                batch.add(directory.resolve(row[0], row[1], row[2]));
+
+                if (batch.size() >= batchSize) {
+                    apply(batch, result);
+                    if (listener != null) listener.progress(result, Math.min(1.0, (double) charsRead / size));
+                    if (Thread.currentThread().isInterrupted()) return result;
+                }
+            }
+        }
+        apply(batch, result);
+        if (listener != null) listener.progress(result, 1.0);
+        return result;
+    }
+
+    private void apply(List<Visitor> batch, Result result) {
+        if (batch.isEmpty()) return;
+        FutureTask<Integer> task = new FutureTask<>(() -> event.addInvitees(batch).size());
+        modelThread.execute(task);
+        int added;
+        boolean interrupted = false;
+        while (true) {
+            try {
+                added = task.get();
+                break;
+            } catch (InterruptedException ex) {
+                // the batch is already queued; wait for it so the counts stay right
+                interrupted = true;
+            } catch (ExecutionException ex) {
+                throw ex.getCause() instanceof RuntimeException
+                        ? (RuntimeException) ex.getCause() : new IllegalStateException(ex.getCause());
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+        result.added += added;
+        result.duplicates += batch.size() - added;
+        batch.clear();
+    }
+
+    private static void reject(Result result, long line, String reason) {
+        result.rejected++;
+        if (result.rejects.size() < MAX_REJECTS) {
+            result.rejects.add(new Reject(line, reason));
+        }
+    }
+
+    // trims the fields and lower-cases the email; returns why the row is bad, or null
+    static String normalize(String[] row) {
+        String name = row[0] == null ? "" : row[0].trim();
+        String email = row[1] == null ? "" : row[1].trim().toLowerCase(Locale.ROOT);
+        String phone = row[2] == null ? "" : row[2].trim();
+        if (email.isEmpty()) return "missing email";
+        if (!looksLikeEmail(email)) return "invalid email \"" + email + "\"";
+        if (name.isEmpty()) return "missing name";
+        row[0] = name;
+        row[1] = email;
+        row[2] = phone;
+        return null;
+    }
+
+    // one @, something before it, a dot somewhere after it, no spaces
+    private static boolean looksLikeEmail(String email) {
+        int at = email.indexOf('@');
+        if (at <= 0 || at != email.lastIndexOf('@')) return false;
+        int dot = email.indexOf('.', at + 2);
+        if (dot < 0 || dot == email.length() - 1) return false;
+        for (int i = 0; i < email.length(); i++) {
+            if (Character.isWhitespace(email.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    // ======================================================
+    // CSV
+    // ======================================================
+
+    private static boolean openQuote(String line) {
+        boolean inQuotes = false;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') inQuotes = !inQuotes;
+        }
+        return inQuotes;
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // known column titles, lower-case with spaces, '-' and '_' removed
+    private static final Set<String> NAME_HEADERS = new HashSet<>(Arrays.asList(
+            "name", "fullname", "visitor", "visitorname", "guest", "guestname",
+            "invitee", "inviteename", "contact", "contactname"));
+    private static final Set<String> EMAIL_HEADERS = new HashSet<>(Arrays.asList(
+            "email", "emailaddress", "mail"));
+    private static final Set<String> PHONE_HEADERS = new HashSet<>(Arrays.asList(
+            "phone", "phonenumber", "mobile", "mobilephone", "cell", "cellphone", "telephone", "tel"));
+
+    // a header names an email column and holds no addresses; a first row
+    // like "Email Me,bob@x.com" or "emailer@x.com" is data
+    private static boolean isHeader(List<String> fields) {
+        boolean email = false;
+        for (String f : fields) {
+            if (f.indexOf('@') >= 0) return false;
+            email |= headerColumn(f) == 1;
+        }
+        return email;
+    }
+
+    private static int[] headerColumns(List<String> header) {
+        int[] columns = { -1, -1, -1 };
+        for (int i = 0; i < header.size(); i++) {
+            int k = headerColumn(header.get(i));
+            if (k >= 0 && columns[k] < 0) columns[k] = i;
+        }
+        return columns;
+    }
+
+    // 0 = name, 1 = email, 2 = phone, -1 = a column we don't import
+    private static int headerColumn(String title) {
+        StringBuilder key = new StringBuilder(title.length());
+        for (int i = 0; i < title.length(); i++) {
+            char c = title.charAt(i);
+            if (c != ' ' && c != '-' && c != '_') key.append(Character.toLowerCase(c));
+        }
+        String k = key.toString();
+        if (EMAIL_HEADERS.contains(k)) return 1;
+        if (PHONE_HEADERS.contains(k)) return 2;
+        if (NAME_HEADERS.contains(k)) return 0;
+        return -1;
+    }
+
+    private static String pick(List<String> fields, int[] columns, String[] row) {
+        for (int k = 0; k < 3; k++) {
+            int c = columns[k];
+            row[k] = c >= 0 && c < fields.size() ? fields.get(c) : null;
+        }
+        return null;
+    }
+
+    // ======================================================
+    // JSON Lines (flat objects only)
+    // ======================================================
+
+    static String parseJson(String line, String[] row) {
+        row[0] = row[1] = row[2] = null;
+        int i = skipSpace(line, 0);
+        if (i >= line.length() || line.charAt(i) != '{') return "not a JSON object";
+        i = skipSpace(line, i + 1);
+        if (i < line.length() && line.charAt(i) == '}') return null;
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            if (i >= line.length() || line.charAt(i) != '"') return "bad JSON key";
+            i = readString(line, i, sb);
+            if (i < 0) return "bad JSON string";
+            String key = sb.toString().toLowerCase(Locale.ROOT);
+            i = skipSpace(line, i);
+            if (i >= line.length() || line.charAt(i) != ':') return "bad JSON (expected ':')";
+            i = skipSpace(line, i + 1);
+
+            String value;
+            if (i < line.length() && line.charAt(i) == '"') {
+                i = readString(line, i, sb);
+                if (i < 0) return "bad JSON string";
+                value = sb.toString();
+            } else {
+                // number, true/false/null: keep the literal
+                int start = i;
+                while (i < line.length() && ",} \t".indexOf(line.charAt(i)) < 0) i++;
+                value = line.substring(start, i);
+                if (value.equals("null")) value = null;
+            }
+            if (key.equals("name")) row[0] = value;
+            else if (key.equals("email")) row[1] = value;
+            else if (key.equals("phone")) row[2] = value;
+
+            i = skipSpace(line, i);
+            if (i >= line.length()) return "bad JSON (unterminated object)";
+            char c = line.charAt(i);
+            if (c == '}') return null;
+            if (c != ',') return "bad JSON (expected ',')";
+            i = skipSpace(line, i + 1);
+        }
+    }
+
+    // reads the string starting at the quote at i into sb; index after the closing quote, or -1
+    private static int readString(String s, int i, StringBuilder sb) {
+        sb.setLength(0);
+        for (i = i + 1; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"') return i + 1;
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (++i >= s.length()) return -1;
+            char e = s.charAt(i);
+            switch (e) {
+                case 'n': sb.append('\n'); break;
+                case 't': sb.append('\t'); break;
+                case 'r': sb.append('\r'); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'u':
+                    if (i + 4 >= s.length()) return -1;
+                    try {
+                        sb.append((char) Integer.parseInt(s.substring(i + 1, i + 5), 16));
+                    } catch (NumberFormatException ex) {
+                        return -1;
+                    }
+                    i += 4;
+                    break;
+                default: sb.append(e); // \" \\ \/
+            }
+        }
+        return -1;
+    }
+
+    private static int skipSpace(String s, int i) {
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) i++;
+        return i;
+    }
+}
@@ -0,0 +1,101 @@
+package org.finalproject.system;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/*
+ * One model mutation in the persistence journal.
+ *
+ * Objects are referenced by their natural keys (agent name, house address,
+ * event key; visitors by name, email and phone, as VisitorDirectory.resolve
+ * takes them) so the entry can be replayed against a graph that was loaded
+ * from a snapshot.
+ */
+public class JournalEntry {
+
+    public enum Type {
+        ADD_PERSON,     // agent name, email, phone, salt, iterations, hash
+        ADD_PROPERTY,   // agent, address, price, sqft, beds, baths, year, description, image paths...
+        ADD_IMAGE,      // address, path
+        SET_FOR_SALE,   // address, true/false
+        CREATE_EVENT,   // agent, address, start, capacity, check-in code, duration, event id
+        SCHEDULE,       // event key
+        ACTIVATE,       // event key
+        CLOSE,          // event key
+        ADD_INVITEE,    // event key, name, email, phone
+        SET_RSVP,       // event key, name, email, phone, status
+        REMOVE_RSVP,    // event key, name, email, phone
+        ADD_VISITOR,    // event key, name, email, phone, consent, check-in time
+        RESCHEDULE,     // event key, new start
+        REMINDER_SENT,  // event key, bitmask of reminder offsets now sent
+        ADD_INVITEES    // event key, then name, email, phone for each invitee (a big batch spans several entries)
+    }
+
+    private static final Type[] TYPES = Type.values();
+
+    private final long seq;
+    private final long timestamp;
+    private final Type type;
+    /** Most fields one entry can carry (the count is written as an unsigned short). */
+    public static final int MAX_FIELDS = 0xFFFF;
+
+    private final String[] fields;
+
+    public JournalEntry(long seq, long timestamp, Type type, String[] fields) {
+        this.seq = seq;
+        this.timestamp = timestamp;
+        this.type = type;
+        this.fields = fields;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    /** Wall-clock millis when the mutation happened. */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String field(int i) {
+        return i < fields.length ? fields[i] : "";
+    }
+
+    public int fieldCount() {
+        return fields.length;
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        if (fields.length > MAX_FIELDS) {
+            // the count is an unsigned short; writing it anyway would corrupt the journal
+            throw new IOException(type + " entry " + seq + " has " + fields.length
+                + " fields, more than the " + MAX_FIELDS + " a journal entry can hold");
+        }
+        out.writeLong(seq);
+        out.writeLong(timestamp);
+        out.writeByte(type.ordinal());
+        out.writeShort(fields.length);
+        for (String f : fields) {
+            out.writeUTF(f == null ? "" : f);
+        }
+    }
+
+    static JournalEntry readFrom(DataInputStream in) throws IOException {
+        long seq = in.readLong();
+        long timestamp = in.readLong();
+        int typeIndex = in.readUnsignedByte();
+        if (typeIndex >= TYPES.length) {
+            throw new IOException("Unknown journal entry type " + typeIndex);
+        }
+        String[] fields = new String[in.readUnsignedShort()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = in.readUTF();
+        }
+        return new JournalEntry(seq, timestamp, TYPES[typeIndex], fields);
+    }
+}
@@ -0,0 +1,92 @@
+package org.finalproject.system;
+
+import java.util.Arrays;
+
+/*
+ * Collects per-operation latencies (in nanoseconds) and reports
+ * throughput and percentiles. Not thread-safe; use one per thread.
+ */
+public class LatencyRecorder {
+
+    private final String name;
+    private long[] samples;
+    private int count;
+    private long totalNanos;
+
+    public LatencyRecorder(String name) {
+        this(name, 1024);
+    }
+
+    public LatencyRecorder(String name, int expectedSamples) {
+        this.name = name;
+        this.samples = new long[Math.max(16, expectedSamples)];
+    }
+
+    public void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = nanos;
+        totalNanos += nanos;
+    }
+
+    /** Time one call of op and record it. */
+    public void time(Runnable op) {
+        long start = System.nanoTime();
+        op.run();
+        record(System.nanoTime() - start);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public double getMeanNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    /** Operations per second, based on the summed latencies. */
+    public double getThroughput() {
+        return totalNanos == 0 ? 0 : count * 1_000_000_000.0 / totalNanos;
+    }
+
+    /** p in [0, 100]. */
+    public long percentile(double p) {
+        if (count == 0) return 0;
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int idx = (int) Math.ceil(p / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, idx))];
+    }
+
+    public static String header() {
+        return String.format("%-28s %10s %12s %10s %10s %10s %10s",
+                "operation", "count", "ops/sec", "p50 us", "p90 us", "p99 us", "max us");
+    }
+
+    /** One summary line, lined up with header(). */
+    public String summary() {
+        if (count == 0) {
+            return String.format("%-28s %10d", name, 0);
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return String.format("%-28s %10d %12.0f %10.1f %10.1f %10.1f %10.1f",
+                name, count, getThroughput(),
+                at(sorted, 50) / 1000.0, at(sorted, 90) / 1000.0,
+                at(sorted, 99) / 1000.0, sorted[count - 1] / 1000.0);
+    }
+
+    private static long at(long[] sorted, double p) {
+        int idx = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, idx))];
+    }
+}
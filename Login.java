@@ -6,33 +6,89 @@ import java.io.Serializable;
 
 public class Login implements Serializable {
 
-  ArrayList<Person> allPeople = new ArrayList<>();
+  private static final long serialVersionUID = 2909025749316630244L;
 
-  private String username;
-  private String password;
+  // kept for getAllPeople() ordering; lookups go through credentials
+  List<Person> allPeople = Collections.synchronizedList(new ArrayList<>());
 
-  private String email;
+  private final CredentialStore credentials;
 
-  public void addPerson(Person person) {
-    if (person != null) {
-      allPeople.add(person);
+  public Login() {
+    this(new CredentialStore());
+  }
+
+  // lets bulk loaders / benchmarks pick a cheaper hash cost
+  public Login(CredentialStore credentials) {
+    this.credentials = credentials;
+  }
+
+  /**
+   * Register a person. The login name is Person.getName() (that is what the
+   * login screen has always matched against).
+   * Returns false (after printing why) if the person is null, has no name
+   * or password, or the name is already taken.
+   */
+  public boolean addPerson(Person person) {
+    if (person == null) {
+      return false;
+    }
+    if (CredentialStore.normalize(person.getName()).isEmpty()) {
+      ModelMessages.println("A username is required.");
+      return false;
+    }
+    if (person.getPassword() == null) {
+      ModelMessages.println("A password is required for " + person.getName());
+      return false;
+    }
+    if (!credentials.register(person.getName(), person.getPassword(), person)) {
+      ModelMessages.println("Username already exists: " + person.getName());
+      return false;
+    }
+    allPeople.add(person);
+    recordPerson(person);
+    return true;
+  }
+
+  // journal the stored salt + hash, never the password itself
+  private void recordPerson(Person person) {
+    if (!PersistenceEngine.isActive()) return;
+    String[] credential = credentials.export(person.getName());
+    if (credential == null) return;
+    PersistenceEngine.record(JournalEntry.Type.ADD_PERSON, person.getName(), person.getEmail(),
+        person.getPhone(), credential[0], credential[1], credential[2]);
+  }
+
+  /**
+   * Journal replay: put back an account recorded by addPerson, using the
+   * stored hash as-is (no re-hashing on every start).
+   */
+  boolean restorePerson(Person person, String salt, String iterations, String hash) {
+    if (person == null || !credentials.restore(person.getName(), person, salt, iterations, hash)) {
+      return false;
     }
+    allPeople.add(person);
+    return true;
   }
 
   public Person login(String username, String password) {
-    for (Person person : allPeople) {
-      if (person.getName().equals(username) && person.getPassword().equals(password)) {
-        System.out.println("Login successful!");
-        return person;
-      }
+    Person person = credentials.authenticate(username, password);
+    if (person != null) {
+      ModelMessages.println("Login successful!");
+      return person;
     }
-    System.out.println("Invalid username or password.");
+    ModelMessages.println("Invalid username or password.");
     return null;
   }
+
+  public boolean isUsernameTaken(String username) {
+    return credentials.contains(username);
+  }
   
   //added this for GUI help
   public List<Person> getAllPeople() {
-      return new ArrayList<>(allPeople);
+      synchronized (allPeople) {
+          return new ArrayList<>(allPeople);
+      }
   }
   
 }
@@ -0,0 +1,80 @@
+package org.finalproject.system;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/*
+ * Process-wide fan-out of model changes to ModelListeners.
+ *
+ * Event and Agent call the fire methods after each successful mutation so
+ * screens can apply just the change instead of rebuilding every list.
+ * Listeners are kept in a copy-on-write list: registering is rare, firing
+ * is on every mutation and must not allocate or lock.
+ */
+public class ModelEvents {
+
+    private static final ModelEvents INSTANCE = new ModelEvents();
+
+    private final List<ModelListener> listeners = new CopyOnWriteArrayList<>();
+
+    private ModelEvents() {
+    }
+
+    public static ModelEvents getInstance() {
+        return INSTANCE;
+    }
+
+    public void addListener(ModelListener listener) {
+        if (listener != null && !listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(ModelListener listener) {
+        listeners.remove(listener);
+    }
+
+    void fireHouseAdded(Agent agent, House house) {
+        for (ModelListener l : listeners) {
+            l.houseAdded(agent, house);
+        }
+    }
+
+    void fireEventAdded(Event event) {
+        for (ModelListener l : listeners) {
+            l.eventAdded(event);
+        }
+    }
+
+    void fireEventStateChanged(Event event) {
+        for (ModelListener l : listeners) {
+            l.eventStateChanged(event);
+        }
+    }
+
+    void fireEventRescheduled(Event event, LocalDateTime oldStart) {
+        for (ModelListener l : listeners) {
+            l.eventRescheduled(event, oldStart);
+        }
+    }
+
+    void fireRsvpChanged(Event event, Visitor visitor, RSVPStatus oldStatus, RSVPStatus newStatus) {
+        for (ModelListener l : listeners) {
+            l.rsvpChanged(event, visitor, oldStatus, newStatus);
+        }
+    }
+
+    void fireInviteesAdded(Event event, List<Visitor> visitors) {
+        if (visitors.isEmpty()) return;
+        for (ModelListener l : listeners) {
+            l.inviteesAdded(event, visitors);
+        }
+    }
+
+    void fireVisitorCheckedIn(Event event, Visitor visitor) {
+        for (ModelListener l : listeners) {
+            l.visitorCheckedIn(event, visitor);
+        }
+    }
+}
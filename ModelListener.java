@@ -0,0 +1,35 @@
+package org.finalproject.system;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/*
+ * Receives fine-grained change notifications from the model.
+ *
+ * Every method has an empty default so a listener only overrides what it
+ * cares about. Notifications are delivered on the thread that made the
+ * change, after the change is complete and outside the model's locks.
+ */
+public interface ModelListener {
+
+    /** A house was added to an agent's listings. */
+    default void houseAdded(Agent agent, House house) {}
+
+    /** A new event was created for (or attached to) an agent. */
+    default void eventAdded(Event event) {}
+
+    /** The event was scheduled, activated or closed. */
+    default void eventStateChanged(Event event) {}
+
+    /** The event was moved to a new start time. */
+    default void eventRescheduled(Event event, LocalDateTime oldStart) {}
+
+    /** A visitor's RSVP changed. newStatus is null if the RSVP was removed. */
+    default void rsvpChanged(Event event, Visitor visitor, RSVPStatus oldStatus, RSVPStatus newStatus) {}
+
+    /** Several invitees were added at once; fired instead of one rsvpChanged per visitor. */
+    default void inviteesAdded(Event event, List<Visitor> visitors) {}
+
+    /** A visitor checked in at the event. */
+    default void visitorCheckedIn(Event event, Visitor visitor) {}
+}
@@ -0,0 +1,33 @@
+package org.finalproject.system;
+
+/*
+ * Where the model's routine status lines go ("Login successful!", "Event
+ * capacity full.", "Sending email to: ...").
+ *
+ * They have always been printed to System.out and still are by default.
+ * A batch run (HeadlessDriver) can switch them off here instead of
+ * swapping System.out for the whole JVM, so real problems the persistence
+ * layer reports ("Snapshot failed", journal write errors) still show.
+ */
+public final class ModelMessages {
+
+    private static volatile boolean quiet;
+
+    private ModelMessages() {
+    }
+
+    /** Drop routine model messages (true) or print them (false, the default). */
+    public static void setQuiet(boolean quiet) {
+        ModelMessages.quiet = quiet;
+    }
+
+    public static boolean isQuiet() {
+        return quiet;
+    }
+
+    static void println(String message) {
+        if (!quiet) {
+            System.out.println(message);
+        }
+    }
+}
@@ -9,18 +9,14 @@ import java.util.ArrayList;
 import java.util.List;
 import javax.swing.plaf.ButtonUI;
 import java.io.File;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
+import java.util.Locale;
 
 //added by Noah
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 
-import java.io.ByteArrayOutputStream;
-import java.io.PrintStream;
-
 /*
  * Main GUI for the Open House Manager.
  *
@@ -187,6 +183,16 @@ public class OpenHouseManagerGUI extends JFrame {
         return currentAgent;
     }
 
+    // ModelListener callbacks arrive on whichever thread changed the model;
+    // list models may only be touched on the EDT
+    private static void onEdt(Runnable r) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            r.run();
+        } else {
+            SwingUtilities.invokeLater(r);
+        }
+    }
+
     public Login getLoginModel() {
         return loginModel;
     }
@@ -407,7 +413,15 @@ public class OpenHouseManagerGUI extends JFrame {
         }
 
         Agent newAgent = new Agent(name, email, phone, username, password);
-        parent.getLoginModel().addPerson(newAgent);
+        if (!parent.getLoginModel().addPerson(newAgent)) {
+            JOptionPane.showMessageDialog(
+                    parent,
+                    "An account with that name already exists.",
+                    "Input Error",
+                    JOptionPane.ERROR_MESSAGE
+            );
+            return;
+        }
 
         JOptionPane.showMessageDialog(
                 parent,
@@ -589,8 +603,8 @@ public class OpenHouseManagerGUI extends JFrame {
 
         /** Called from showScreen(CARD_KIOSK). Populate the event list. */
         //ONLY INCLUDE ACTIVE EVENTS NO CLOSED ONES
-        //AVOID DUPLICATE EVENTS IF MULTIPLE AGENTS HAVE IT
-        // via seenEventIds
+        //active events come straight from the EventRegistry index, so
+        //events shared between agents only show up once
         //clears form fields as well 
         public void refresh() {
             eventCombo.removeAllItems();
@@ -608,47 +622,18 @@ public class OpenHouseManagerGUI extends JFrame {
                 return;
             }
 
-            List<Person> people = login.getAllPeople();
-            if (people.isEmpty()) {
-                messageArea.setText("No agents configured yet.");
-                return;
-            }
-
             DateTimeFormatter fmt = DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
-            boolean foundEvents = false;
-
-            java.util.Set<String> seenEventIds = new java.util.HashSet<>();
+            List<Event> active = EventRegistry.getInstance().getActiveEvents();
+            boolean foundEvents = !active.isEmpty();
 
-            for (Person p : people) {
-                if (p instanceof Agent) {
-                    Agent agent = (Agent) p;
-
-                    List<House> houses = agent.getProperties();
-                    if (houses == null) continue;
-
-                    for (House h : houses) {
-                        List<Event> evs = h.getEvents();
-                        if (evs == null) continue;
-
-                        for (Event e : evs) {
-                            if (!e.isActive() || e.isClosed()) continue;
-
-                            // Skip duplicates by eventId
-                            if (!seenEventIds.add(e.getEventId())) {
-                                continue;
-                            }
-
-                            foundEvents = true;
-                            eventObjects.add(e);
+            for (Event e : active) {
+                eventObjects.add(e);
 //uses date and time but cleans it up for better viewing
-                            String label = e.getEventId()
-                                    + " - " + h.getAddress()
-                                    + " - " + e.getStartTime().format(fmt);
+                String label = e.getEventId()
+                        + " - " + e.getAddress()
+                        + " - " + e.getStartTime().format(fmt);
 
-                            eventCombo.addItem(label);
-                        }
-                    }
-                }
+                eventCombo.addItem(label);
             }
 //THIS WILL CATCH IF EVENTS FROM DRIVER OR MANUAL ADDING DO NOT EXIST*
             if (!foundEvents) {
@@ -708,47 +693,30 @@ public class OpenHouseManagerGUI extends JFrame {
                 return;
             }
 
-            // 5) Look for an existing visitor with the same email
-            Visitor visitor = null;
-            for (Visitor existing : event.getVisitors()) {
-                if (existing.getEmail().equalsIgnoreCase(email)) {
-                    visitor = existing;
-                    break;
-                }
-            }
-
-            // 6) Create or update the Visitor
-            if (visitor == null) {
-                visitor = new Visitor(name, email, phone);
-            }
+            // 5) Find this person in the visitor directory, so repeat visitors
+            //    (at this event or any other) keep one Visitor and one history
+            // 6) Create the Visitor if they are new
+            Visitor visitor = VisitorDirectory.getInstance().resolve(name, email, phone);
             // Update consent
             visitor.setMailingListConsent(consent);
 
-            // 7) Register visitor to the event using the Event logic
-            boolean added = event.addVisitor(visitor);  // uses active/closed/capacity + RSVP auto-YES
-            if (!added) {
+            // 7) Check in using the Event logic (active/closed/capacity + RSVP auto-YES)
+            // 8) The event logs the CheckInRecord and attaches it to the visitor
+            CheckInRecord record = event.checkIn(visitor, LocalDateTime.now());
+            if (record == null) {
                 messageArea.setText("Could not check in (event may not be open or is full).");
                 return;
             }
 
-            // 8) Create a CheckInRecord and attach it to the visitor
-            CheckInRecord record = new CheckInRecord(visitor, event, LocalDateTime.now());
-            visitor.addCheckInRecord(record);
-            final Visitor finalVisitor = visitor;
-
-            // 9) Optionally capture the Visitor's console output into the GUI
-            //uses console print from background function (prinrCheckInRecord)
-            String info = parent.captureConsoleOutput(() -> {
-                finalVisitor.printCheckInRecord();  // your existing method
-            });
-//End
-            messageArea.setText("Check-in successful!\n\n" + info);
+            // 9) Show the receipt (built from the model, no console capture)
+            CheckInReceipt receipt = CheckInReceipt.from(visitor, record);
+            messageArea.setText("Check-in successful!\n\n" + formatReceipt(receipt));
         }
 
         /**
          * Open a read-only browser window where visitors can see houses and photos.
-         * this will looks through all agents and house
-         * and make a no duplicate list (since agents may share)
+         * Houses come from the EventRegistry's house index, which only holds
+         * houses that have at least one event (no duplicates even if agents share)
          * so visitors can browse. No houses with events -> exception message
          * make seperate window with list
          */
@@ -759,37 +727,15 @@ public class OpenHouseManagerGUI extends JFrame {
                 return;
             }
 
-            List<Person> people = login.getAllPeople();
-            if (people == null || people.isEmpty()) {
-                messageArea.setText("No agents configured yet.");
-                return;
-            }
-
-            // Collect unique houses that have at least one event (so they are relevant)
             //do not want no event houses
-            LinkedHashSet<House> housesWithEvents = new LinkedHashSet<>();
-
-            for (Person p : people) {
-                if (p instanceof Agent) {
-                    Agent agent = (Agent) p;
-                    List<House> houses = agent.getProperties();
-                    if (houses == null) continue;
-
-                    for (House h : houses) {
-                        List<Event> evs = h.getEvents();
-                        if (evs == null || evs.isEmpty()) continue;
-                        housesWithEvents.add(h);
-                    }
-                }
-            }
+            List<House> housesWithEvents = EventRegistry.getInstance().getHousesWithEvents();
 
             if (housesWithEvents.isEmpty()) {
                 messageArea.setText("No properties with events are available to display.");
                 return;
             }
 
-            java.util.List<House> houseList = new ArrayList<>(housesWithEvents);
-            VisitorHouseBrowserFrame frame = new VisitorHouseBrowserFrame(parent, houseList);
+            VisitorHouseBrowserFrame frame = new VisitorHouseBrowserFrame(parent, housesWithEvents);
             frame.setLocationRelativeTo(parent);
             frame.setVisible(true);
         }
@@ -798,9 +744,16 @@ public class OpenHouseManagerGUI extends JFrame {
     // ======================================================
     //  DASHBOARD PANEL
     // ======================================================
-    private static class DashboardPanel extends JPanel {
+    private static class DashboardPanel extends JPanel implements ModelListener {
+        private static final String[] STAT_ROWS = { "Events", "Invited", "Check-ins", "Walk-ins",
+                "Avg attendance", "Response rate", "Invite \u2192 check-in", "Yes \u2192 check-in",
+                "No-show rate", "Repeat visitors" };
+        private static final String[] STAT_COLUMNS = { "All time", "Today", "Next 7 days" };
+
         private OpenHouseManagerGUI parent;
         private JLabel welcomeLabel;
+        private final JLabel[][] statLabels = new JLabel[STAT_ROWS.length][STAT_COLUMNS.length];
+        private boolean statsQueued;
 
         public DashboardPanel(OpenHouseManagerGUI parent) {
             this.parent = parent;
@@ -818,6 +771,7 @@ public class OpenHouseManagerGUI extends JFrame {
             JButton housesButton  = createPrimaryButton("Houses");
             JButton visitorsButton = createPrimaryButton("Visitors");
             JButton emailButton   = createPrimaryButton("Send Email");
+            JButton exportButton  = createPrimaryButton("Export Data");
             JButton logoutButton  = createSecondaryButton("Logout");
 
             checkinButton.setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -825,6 +779,7 @@ public class OpenHouseManagerGUI extends JFrame {
             housesButton.setAlignmentX(Component.CENTER_ALIGNMENT);
             visitorsButton.setAlignmentX(Component.CENTER_ALIGNMENT);
             emailButton.setAlignmentX(Component.CENTER_ALIGNMENT);
+            exportButton.setAlignmentX(Component.CENTER_ALIGNMENT);
             logoutButton.setAlignmentX(Component.CENTER_ALIGNMENT);
 
             checkinButton.addActionListener(e -> parent.showScreen(CARD_CHECKINS));
@@ -832,6 +787,7 @@ public class OpenHouseManagerGUI extends JFrame {
             housesButton.addActionListener(e -> parent.showScreen(CARD_HOUSES));
             visitorsButton.addActionListener(e -> parent.showScreen(CARD_VISITORS));
             emailButton.addActionListener(e -> parent.showScreen(CARD_EMAIL));
+            exportButton.addActionListener(e -> parent.exportDataFromGui());
             logoutButton.addActionListener(e -> parent.logout());
 
             card.add(welcomeLabel);
@@ -845,6 +801,8 @@ public class OpenHouseManagerGUI extends JFrame {
             card.add(visitorsButton);
             card.add(Box.createRigidArea(new Dimension(0, 10)));
             card.add(emailButton);
+            card.add(Box.createRigidArea(new Dimension(0, 10)));
+            card.add(exportButton);
             card.add(Box.createRigidArea(new Dimension(0, 15)));
             card.add(logoutButton);
 
@@ -852,12 +810,123 @@ public class OpenHouseManagerGUI extends JFrame {
             gbc.gridx = 0;
             gbc.gridy = 0;
             add(card, gbc);
+
+            gbc.gridx = 1;
+            gbc.insets = new Insets(0, 20, 0, 0);
+            add(buildStatsCard(), gbc);
+
+            ModelEvents.getInstance().addListener(this);
+        }
+
+        // pre-aggregated numbers from AnalyticsEngine for the logged-in agent
+        private JPanel buildStatsCard() {
+            JPanel card = createCardPanel();
+
+            JLabel title = new JLabel("Your Open Houses");
+            title.setFont(new Font("Century Gothic", Font.BOLD, 18));
+            title.setAlignmentX(Component.CENTER_ALIGNMENT);
+            card.add(title);
+            card.add(Box.createRigidArea(new Dimension(0, 10)));
+
+            JPanel grid = new JPanel(new GridLayout(STAT_ROWS.length + 1, STAT_COLUMNS.length + 1, 14, 4));
+            grid.setOpaque(false);
+            grid.add(new JLabel(""));
+            for (String column : STAT_COLUMNS) {
+                JLabel header = new JLabel(column, SwingConstants.RIGHT);
+                header.setFont(new Font("Segoe UI", Font.BOLD, 13));
+                grid.add(header);
+            }
+            for (int r = 0; r < STAT_ROWS.length; r++) {
+                grid.add(new JLabel(STAT_ROWS[r]));
+                for (int c = 0; c < STAT_COLUMNS.length; c++) {
+                    statLabels[r][c] = new JLabel("-", SwingConstants.RIGHT);
+                    grid.add(statLabels[r][c]);
+                }
+            }
+            grid.setAlignmentX(Component.CENTER_ALIGNMENT);
+            card.add(grid);
+            return card;
         }
 
         public void refresh() { //this will change name depending on 
         	//agent login
             Agent a = parent.getCurrentAgent();
             welcomeLabel.setText("Welcome, " + (a != null ? a.getName() : ""));
+            refreshStats();
+        }
+
+        private void refreshStats() {
+            statsQueued = false;
+            Agent a = parent.getCurrentAgent();
+            if (a == null) return;
+            AnalyticsEngine analytics = AnalyticsEngine.getInstance();
+            java.time.LocalDate today = java.time.LocalDate.now();
+            AnalyticsEngine.Stats[] columns = {
+                    analytics.forAgent(a),
+                    analytics.forDays(a, today, today),
+                    analytics.forDays(a, today, today.plusDays(6))
+            };
+            for (int c = 0; c < columns.length; c++) {
+                AnalyticsEngine.Stats st = columns[c];
+                String[] values = {
+                        String.valueOf(st.getEvents()),
+                        String.valueOf(st.getInvited()),
+                        String.valueOf(st.getCheckIns()),
+                        String.valueOf(st.getWalkIns()),
+                        String.format("%.1f", st.getAverageAttendance()),
+                        percent(st.getResponseRate()),
+                        percent(st.getInviteConversion()),
+                        percent(st.getRsvpConversion()),
+                        st.getClosedEvents() > 0 ? percent(st.getNoShowRate()) : "-",
+                        percent(st.getRepeatVisitorRate())
+                };
+                for (int r = 0; r < values.length; r++) {
+                    statLabels[r][c].setText(values[r]);
+                }
+            }
+        }
+
+        private static String percent(double rate) {
+            return String.format("%.0f%%", rate * 100);
+        }
+
+        // a burst of check-ins or an import becomes one update
+        private void statsChanged() {
+            onEdt(() -> {
+                if (statsQueued || !isShowing()) return;
+                statsQueued = true;
+                SwingUtilities.invokeLater(this::refreshStats);
+            });
+        }
+
+        @Override
+        public void eventAdded(Event e) {
+            statsChanged();
+        }
+
+        @Override
+        public void eventStateChanged(Event e) {
+            statsChanged();
+        }
+
+        @Override
+        public void eventRescheduled(Event e, LocalDateTime oldStart) {
+            statsChanged();
+        }
+
+        @Override
+        public void rsvpChanged(Event e, Visitor v, RSVPStatus oldStatus, RSVPStatus newStatus) {
+            statsChanged();
+        }
+
+        @Override
+        public void inviteesAdded(Event e, java.util.List<Visitor> added) {
+            statsChanged();
+        }
+
+        @Override
+        public void visitorCheckedIn(Event e, Visitor v) {
+            statsChanged();
         }
     }
 
@@ -868,15 +937,19 @@ public class OpenHouseManagerGUI extends JFrame {
         private OpenHouseManagerGUI parent;
         private JList<String> houseList;
         private DefaultListModel<String> listModel;
+        private JTextField searchField;
+        private HouseQuery houseQuery = new HouseQuery();   // price/beds/... ranges, empty = no filter
+        // the houses behind the list rows (all of the agent's, or the search/filter hits)
+        private java.util.List<House> shownHouses = new ArrayList<>();
 
         private JTextArea detailsArea;
         private JLabel photoLabel;
         private JButton prevPhotoButton;
         private JButton nextPhotoButton;
 
-        // Cache ImageIcons per house; source of truth is House.imagePaths
-        private Map<House, java.util.List<ImageIcon>> housePhotos = new HashMap<>();
-        private java.util.List<ImageIcon> currentPhotos = java.util.Collections.emptyList();
+        // Paths of the selected house's photos; source of truth is House.imagePaths.
+        // Decoding happens in PhotoLoader, only for the photo being shown.
+        private java.util.List<String> currentPhotos = java.util.Collections.emptyList();
         private int currentPhotoIndex = -1;
 
         public HousesPanel(OpenHouseManagerGUI parent) {
@@ -899,15 +972,39 @@ public class OpenHouseManagerGUI extends JFrame {
             headerButtons.setOpaque(false);
 
             JButton addHouseButton = createPrimaryButton("Add House");
+            JButton filterButton   = createSecondaryButton("Filter...");
             JButton backButton     = createSecondaryButton("Back");
 
             backButton.addActionListener(e -> parent.showScreen(CARD_DASHBOARD));
             addHouseButton.addActionListener(e -> addNewHouse());
+            filterButton.addActionListener(e -> {
+                HouseQuery q = editHouseQuery(parent, houseQuery);
+                if (q != null) {
+                    houseQuery = q;
+                    filterButton.setText(q.isEmpty() ? "Filter..." : "Filter (on)...");
+                    showHouses();
+                }
+            });
 
             headerButtons.add(addHouseButton);
+            headerButtons.add(filterButton);
             headerButtons.add(backButton);
 
+            // search-as-you-type over address and description (HouseSearchIndex)
+            JPanel searchRow = new JPanel(new BorderLayout(6, 0));
+            searchRow.setOpaque(false);
+            searchRow.setBorder(BorderFactory.createEmptyBorder(0, 20, 0, 20));
+            searchRow.add(new JLabel("Search:"), BorderLayout.WEST);
+            searchField = new JTextField(20);
+            searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+                public void insertUpdate(javax.swing.event.DocumentEvent e) { showHouses(); }
+                public void removeUpdate(javax.swing.event.DocumentEvent e) { showHouses(); }
+                public void changedUpdate(javax.swing.event.DocumentEvent e) { showHouses(); }
+            });
+            searchRow.add(searchField, BorderLayout.CENTER);
+
             header.add(title, BorderLayout.WEST);
+            header.add(searchRow, BorderLayout.CENTER);
             header.add(headerButtons, BorderLayout.EAST);
 
             add(header, BorderLayout.NORTH);
@@ -988,7 +1085,7 @@ public class OpenHouseManagerGUI extends JFrame {
         /* Refresh list from the current agent
         Clears everything
         Creates list
-        Fills house with photos that are linked to them
+        Photos are not decoded here, only when a house is selected
         */
         public void refresh() {
             listModel.clear();
@@ -999,27 +1096,28 @@ public class OpenHouseManagerGUI extends JFrame {
             currentPhotoIndex = -1;
             updatePhotoControls();
 
+            showHouses();
+        }
+
+        // list the agent's houses, or only the ones matching the search box and filter
+        private void showHouses() {
+            listModel.clear();
+            shownHouses = new ArrayList<>();
+
             Agent agent = parent.getCurrentAgent();
             if (agent == null) return;
 
             java.util.List<House> houses = agent.getProperties();
             if (houses == null) return;
 
-            for (House h : houses) {
+            String query = searchField.getText();
+            shownHouses = query.trim().isEmpty() ? houses
+                    : HouseSearchIndex.getInstance().search(query, houses.size(), houses);
+            if (!houseQuery.isEmpty()) {
+                shownHouses = HouseRangeIndex.getInstance().query(houseQuery, shownHouses.size(), shownHouses);
+            }
+            for (House h : shownHouses) {
                 listModel.addElement(h.getAddress());
-
-                // Build ImageIcons from any stored image paths
-                java.util.List<String> paths = h.getImagePaths();
-                java.util.List<ImageIcon> icons = new ArrayList<>();
-                for (String path : paths) {
-                    ImageIcon icon = loadIcon(path);
-                    if (icon != null) {
-                        icons.add(icon);
-                    }
-                }
-                if (!icons.isEmpty()) {
-                    housePhotos.put(h, icons);
-                }
             }
         }
 
@@ -1034,8 +1132,7 @@ public class OpenHouseManagerGUI extends JFrame {
                 return;
             }
 
-            java.util.List<House> houses = agent.getProperties();
-            if (houses == null || index >= houses.size()) {
+            if (index >= shownHouses.size()) {
                 detailsArea.setText("");
                 currentPhotos = java.util.Collections.emptyList();
                 currentPhotoIndex = -1;
@@ -1043,7 +1140,7 @@ public class OpenHouseManagerGUI extends JFrame {
                 return;
             }
 
-            House h = houses.get(index);
+            House h = shownHouses.get(index);
 
             StringBuilder sb = new StringBuilder();
             sb.append("Address: ").append(h.getAddress()).append("\n");
@@ -1070,20 +1167,8 @@ public class OpenHouseManagerGUI extends JFrame {
             detailsArea.setText(sb.toString());
             detailsArea.setCaretPosition(0);
 
-            // photos for this house (from cache; if missing, build from paths)
-            java.util.List<ImageIcon> icons = housePhotos.get(h);
-            if (icons == null) {
-                icons = new ArrayList<>();
-                for (String path : h.getImagePaths()) {
-                    ImageIcon icon = loadIcon(path);
-                    if (icon != null) icons.add(icon);
-                }
-                if (!icons.isEmpty()) {
-                    housePhotos.put(h, icons);
-                }
-            }
-
-            currentPhotos = icons != null ? icons : java.util.Collections.emptyList();
+            // photos for this house (decoded lazily by showPhoto)
+            currentPhotos = h.getImagePaths();
             if (currentPhotos.isEmpty()) {
                 currentPhotoIndex = -1;
                 photoLabel.setIcon(null);
@@ -1161,20 +1246,14 @@ public class OpenHouseManagerGUI extends JFrame {
                     int result = chooser.showOpenDialog(parent);
                     if (result == JFileChooser.APPROVE_OPTION) {
                         File[] files = chooser.getSelectedFiles();
-                        java.util.List<ImageIcon> photos = new ArrayList<>();
                         for (File f : files) {
-                            String path = f.getAbsolutePath();
-                            newHouse.addImagePath(path);              // store path in model
-                            photos.add(new ImageIcon(path));          // cache icon
-                        }
-                        if (!photos.isEmpty()) {
-                            housePhotos.put(newHouse, photos);
+                            newHouse.addImagePath(f.getAbsolutePath());   // store path in model
                         }
                     }
                 }
 
-                // add to agent's list
-                agent.getProperties().add(newHouse);
+                // add to agent's list (addProperty so it gets saved)
+                agent.addProperty(newHouse);
 
                 refresh();
                 if (listModel.size() > 0) {
@@ -1192,7 +1271,7 @@ public class OpenHouseManagerGUI extends JFrame {
         }
 
         // show specific photo index
-        //Scales photo to look nice
+        //PhotoLoader decodes + scales it in the background, placeholder until then
         //
         private void showPhoto(int index) {
             if (currentPhotos == null || currentPhotos.isEmpty()) {
@@ -1208,16 +1287,39 @@ public class OpenHouseManagerGUI extends JFrame {
             }
 
             currentPhotoIndex = index;
-            ImageIcon raw = currentPhotos.get(index);
+            final java.util.List<String> photos = currentPhotos;
+            String path = photos.get(index);
 
             int w = photoLabel.getWidth();
             int h = photoLabel.getHeight();
             if (w <= 0) w = 420;
             if (h <= 0) h = 260;
 
-            Image scaled = raw.getImage().getScaledInstance(w, h, Image.SCALE_SMOOTH);
-            photoLabel.setIcon(new ImageIcon(scaled));
-            photoLabel.setText(null);
+            PhotoLoader loader = PhotoLoader.getInstance();
+            Image cached = loader.getCached(path, w, h);
+            if (cached != null) {
+                photoLabel.setIcon(new ImageIcon(cached));
+                photoLabel.setText(null);
+            } else {
+                photoLabel.setIcon(null);
+                photoLabel.setText("Loading photo...");
+                loader.load(path, w, h, img -> {
+                    // ignore if the user has moved on to another photo/house
+                    if (currentPhotos != photos || currentPhotoIndex != index) return;
+                    if (img == null) {
+                        photoLabel.setIcon(null);
+                        photoLabel.setText("Photo unavailable");
+                    } else {
+                        photoLabel.setIcon(new ImageIcon(img));
+                        photoLabel.setText(null);
+                    }
+                });
+            }
+
+            // next photo is the likely next click
+            if (index + 1 < photos.size()) {
+                loader.prefetch(photos.get(index + 1), w, h);
+            }
 
             updatePhotoControls();
         }
@@ -1245,10 +1347,9 @@ public class OpenHouseManagerGUI extends JFrame {
                 return;
             }
 
-            java.util.List<House> houses = agent.getProperties();
-            if (houses == null || index >= houses.size()) return;
+            if (index >= shownHouses.size()) return;
 
-            House h = houses.get(index);
+            House h = shownHouses.get(index);
 
             JFileChooser chooser = new JFileChooser();
             chooser.setMultiSelectionEnabled(true);
@@ -1258,44 +1359,17 @@ public class OpenHouseManagerGUI extends JFrame {
             }
 
             File[] files = chooser.getSelectedFiles();
-            java.util.List<ImageIcon> photos = housePhotos.getOrDefault(h, new ArrayList<>());
 
             for (File f : files) {
-                String path = f.getAbsolutePath();
-                h.addImagePath(path);                     // store path
-                photos.add(new ImageIcon(path));          // cache icon
+                h.addImagePath(f.getAbsolutePath());      // store path
             }
 
-            if (!photos.isEmpty()) {
-                housePhotos.put(h, photos);
-                currentPhotos = photos;
+            currentPhotos = h.getImagePaths();
+            if (!currentPhotos.isEmpty()) {
                 currentPhotoIndex = 0;
                 showPhoto(currentPhotoIndex);
             }
         }
-
-        /** Helper: load an icon from either a classpath resource or a file path. */
-        //we will be using classpath resources in the driver!!
-        private ImageIcon loadIcon(String path) {
-            if (path == null || path.trim().isEmpty()) return null;
-            path = path.trim();
-
-            // classpath resource (e.g. "/org/finalproject/images/houses/main_front.jpg")
-            if (path.startsWith("/")) {
-                java.net.URL url = getClass().getResource(path);
-                if (url != null) {
-                    return new ImageIcon(url);
-                }
-            }
-
-            // else treat as file path
-            File f = new File(path);
-            if (f.exists()) {
-                return new ImageIcon(f.getAbsolutePath());
-            }
-
-            return null;
-        }
     }
 
     /*the events panel displays the events that have been created with the address, date, and time.
@@ -1305,17 +1379,19 @@ public class OpenHouseManagerGUI extends JFrame {
     // ======================================================
     // EVENTS PANEL
     //======================================================
-    private static class EventsPanel extends JPanel {
+    private static class EventsPanel extends JPanel implements ModelListener {
     private OpenHouseManagerGUI parent;
     private JList<String> eventList;
-    private DefaultListModel<String> listModel;
+    private BulkListModel<String> listModel;
     private JTextArea detailsArea;
-    private java.util.List<Event> eventObjects = new ArrayList<>();
+    private final RowIndex<Event> eventObjects = new RowIndex<>();
+    private Agent shownAgent;          // whose events are in the list right now
 
     // --- RSVP UI fields ---
-    private DefaultListModel<String> rsvpListModel;
-    private JList<String> rsvpList;
-    private java.util.List<Visitor> rsvpVisitors = new ArrayList<>();
+    private BulkListModel<VisitorRow> rsvpListModel;
+    private JList<VisitorRow> rsvpList;
+    private final RowIndex<Visitor> rsvpVisitors = new RowIndex<>();
+    private Event rsvpEvent;           // whose RSVPs are in rsvpList
     private JComboBox<RSVPStatus> rsvpStatusCombo;
     private JTextField inviteeNameField;
     private JTextField inviteeEmailField;
@@ -1354,7 +1430,7 @@ public class OpenHouseManagerGUI extends JFrame {
     add(header, BorderLayout.NORTH);
 
     // event list
-    listModel = new DefaultListModel<>();
+    listModel = new BulkListModel<>();
     eventList = new JList<>(listModel);
     eventList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
     eventList.setVisibleRowCount(18);
@@ -1390,12 +1466,15 @@ public class OpenHouseManagerGUI extends JFrame {
     JPanel eventActions = new JPanel(new FlowLayout(FlowLayout.RIGHT));
     eventActions.setOpaque(false);
 
+    JButton rescheduleButton = createSecondaryButton("Reschedule");
     JButton activateButton = createSecondaryButton("Activate");
     JButton closeButton = createSecondaryButton("Close");
 
+    rescheduleButton.addActionListener(e -> rescheduleSelectedEvent());
     activateButton.addActionListener(e -> changeEventStatus(true));
     closeButton.addActionListener(e -> changeEventStatus(false));
 
+    eventActions.add(rescheduleButton);
     eventActions.add(activateButton);
     eventActions.add(closeButton);
 
@@ -1420,6 +1499,8 @@ public class OpenHouseManagerGUI extends JFrame {
     showEventDetails(index);
     }
     });
+
+    ModelEvents.getInstance().addListener(this);
     }
 
     // Builds the RSVP and Invitee panel
@@ -1431,9 +1512,10 @@ public class OpenHouseManagerGUI extends JFrame {
     );
 
     // Invitee list (top)
-    rsvpListModel = new DefaultListModel<>();
+    rsvpListModel = new BulkListModel<>();
     rsvpList = new JList<>(rsvpListModel);
     rsvpList.setVisibleRowCount(8);
+    VisitorRowRenderer.install(rsvpList, 240);
 
     JScrollPane rsvpScroll = new JScrollPane(rsvpList);
     rsvpPanel.add(rsvpScroll, BorderLayout.CENTER);
@@ -1481,7 +1563,13 @@ public class OpenHouseManagerGUI extends JFrame {
     updateRsvpButton.setAlignmentX(Component.CENTER_ALIGNMENT);
     updateRsvpButton.addActionListener(e -> updateRsvpForSelectedInvitee());
 
+    JButton importInviteesButton = createSecondaryButton("Import Invitees...");
+    importInviteesButton.setAlignmentX(Component.CENTER_ALIGNMENT);
+    importInviteesButton.addActionListener(e -> importInviteesForSelectedEvent());
+
     rightCol.add(addInviteeButton);
+    rightCol.add(Box.createVerticalStrut(6));
+    rightCol.add(importInviteesButton);
     rightCol.add(Box.createVerticalStrut(12));
     rightCol.add(rsvpRow);
     rightCol.add(Box.createVerticalStrut(12));
@@ -1495,36 +1583,120 @@ public class OpenHouseManagerGUI extends JFrame {
     return rsvpPanel;
     }
 
-    // Refresh entire events list
+    // Rebuilds the list only when a different agent logs in; after that
+    // the ModelListener callbacks below keep it current
     public void refresh() {
-    listModel.clear();
+    Agent agent = parent.getCurrentAgent();
+    if (agent != null && agent == shownAgent) {
+    showEventDetails(eventList.getSelectedIndex());
+    return;
+    }
+
+    shownAgent = agent;
     detailsArea.setText("");
     eventObjects.clear();
     clearRsvpPanel();
 
-    Agent agent = parent.getCurrentAgent();
-    if (agent == null) return;
+    if (agent == null) {
+    listModel.clear();
+    return;
+    }
 
-    java.util.List<House> houses = agent.getProperties();
-    if (houses == null) return;
+    // every event at the agent's houses, including ones another agent runs at a shared house
+    java.util.List<String> labels = new ArrayList<>();
+    for (House h : agent.getProperties()) {
+    for (Event e : h.getEvents()) {
+    eventObjects.add(e);
+    labels.add(eventLabel(e));
+    }
+    }
+    if (eventObjects.isEmpty()) {
+    labels.add("(No events yet)");
+    }
+    listModel.replaceAll(labels);
+    }
 
+    private static String eventLabel(Event e) {
     DateTimeFormatter fmt = DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
-
-    for (House h : houses) {
-    java.util.List<Event> evs = h.getEvents();
-    if (evs == null) continue;
-    for (Event e : evs) {
-    eventObjects.add(e);
-    String label = e.getEventId()
-    + " | " + h.getAddress()
+    return e.getEventId()
+    + " | " + e.getAddress()
     + " | " + (e.getStartTime() != null ? e.getStartTime().format(fmt) : "No time");
-    listModel.addElement(label);
     }
+
+    private Event selectedEvent() {
+    int index = eventList.getSelectedIndex();
+    return index >= 0 && index < eventObjects.size() ? eventObjects.get(index) : null;
     }
 
+    // --- model deltas ---
+
+    @Override
+    public void eventAdded(Event e) {
+    onEdt(() -> {
+    if (shownAgent == null || !shownAgent.getProperties().contains(e.getHouse())) return;
     if (eventObjects.isEmpty()) {
-    listModel.addElement("(No events yet)");
+    listModel.clear(); // drop the "(No events yet)" row
     }
+    eventObjects.add(e);
+    listModel.add(eventLabel(e));
+    });
+    }
+
+    @Override
+    public void eventStateChanged(Event e) {
+    onEdt(() -> {
+    if (e == selectedEvent()) showEventSummary(e);
+    });
+    }
+
+    @Override
+    public void eventRescheduled(Event e, LocalDateTime oldStart) {
+    onEdt(() -> {
+    int row = eventObjects.indexOf(e);
+    if (row >= 0) listModel.set(row, eventLabel(e));
+    if (e == selectedEvent()) showEventSummary(e);
+    });
+    }
+
+    @Override
+    public void visitorCheckedIn(Event e, Visitor v) {
+    onEdt(() -> {
+    if (e == selectedEvent()) showEventSummary(e);
+    });
+    }
+
+    @Override
+    public void rsvpChanged(Event e, Visitor v, RSVPStatus oldStatus, RSVPStatus newStatus) {
+    onEdt(() -> {
+    if (e != rsvpEvent) return;
+    int row = rsvpVisitors.indexOf(v);
+    if (newStatus == null) {
+    if (row >= 0) {
+    rsvpVisitors.remove(row);
+    rsvpListModel.remove(row);
+    }
+    } else if (row >= 0) {
+    rsvpListModel.set(row, VisitorRow.of(v, newStatus));
+    } else {
+    rsvpVisitors.add(v);
+    rsvpListModel.add(VisitorRow.of(v, newStatus));
+    }
+    showEventSummary(e);
+    });
+    }
+
+    @Override
+    public void inviteesAdded(Event e, java.util.List<Visitor> added) {
+    onEdt(() -> {
+    if (e != rsvpEvent) return;
+    java.util.List<VisitorRow> rows = new ArrayList<>(added.size());
+    for (Visitor v : added) {
+    rsvpVisitors.add(v);
+    rows.add(VisitorRow.of(v, RSVPStatus.NO_RESPONSE));
+    }
+    rsvpListModel.addAll(rows);
+    showEventSummary(e);
+    });
     }
 
     // Show event details + its RSVPs
@@ -1536,33 +1708,39 @@ public class OpenHouseManagerGUI extends JFrame {
     }
 
     Event e = eventObjects.get(index);
+    showEventSummary(e);
+
+    // also refresh RSVP list for this event
+    refreshRsvpList(e);
+    }
+
+    private void showEventSummary(Event e) {
+    EventOverview o = e.getOverview();
+    RsvpSummary rsvps = o.getRsvpSummary();
     StringBuilder sb = new StringBuilder();
-    sb.append("Event ID: ").append(e.getEventId()).append("\n");
-    sb.append("Address: ").append(e.getAddress()).append("\n");
-    sb.append("Start Time: ").append(e.getStartTime()).append("\n");
-    sb.append("Check-in Code:").append(e.getCheckInCode()).append("\n");
+    sb.append("Event ID: ").append(o.getEventId()).append("\n");
+    sb.append("Address: ").append(o.getAddress()).append("\n");
+    sb.append("Start Time: ").append(o.getStartTime()).append("\n");
+    sb.append("Check-in Code:").append(o.getCheckInCode()).append("\n");
 
-    sb.append("Capacity: ").append(e.getCapacity()).append("\n");
-    sb.append("Attendance: ").append(e.getAttendance())
-    .append(" / ").append(e.getCapacity()).append("\n");
-    sb.append("Attendance Rate: ").append(e.getAttendanceRate()).append("\n\n");
+    sb.append("Capacity: ").append(o.getCapacity()).append("\n");
+    sb.append("Attendance: ").append(o.getAttendance())
+    .append(" / ").append(o.getCapacity()).append("\n");
+    sb.append("Attendance Rate: ").append(o.getAttendanceRate()).append("\n\n");
 
     sb.append("Status:\n");
-    sb.append(" Scheduled: ").append(e.isScheduled()).append("\n");
-    sb.append(" Active: ").append(e.isActive()).append("\n");
-    sb.append(" Closed: ").append(e.isClosed()).append("\n\n");
+    sb.append(" Scheduled: ").append(o.isScheduled()).append("\n");
+    sb.append(" Active: ").append(o.isActive()).append("\n");
+    sb.append(" Closed: ").append(o.isClosed()).append("\n\n");
 
     sb.append("RSVP Summary:\n");
-    sb.append(" YES: ").append(e.getRsvpCount(RSVPStatus.YES)).append("\n");
-    sb.append(" NO: ").append(e.getRsvpCount(RSVPStatus.NO)).append("\n");
-    sb.append(" MAYBE: ").append(e.getRsvpCount(RSVPStatus.MAYBE)).append("\n");
-    sb.append(" NO RESPONSE: ").append(e.getRsvpCount(RSVPStatus.NO_RESPONSE)).append("\n");
+    sb.append(" YES: ").append(rsvps.getCount(RSVPStatus.YES)).append("\n");
+    sb.append(" NO: ").append(rsvps.getCount(RSVPStatus.NO)).append("\n");
+    sb.append(" MAYBE: ").append(rsvps.getCount(RSVPStatus.MAYBE)).append("\n");
+    sb.append(" NO RESPONSE: ").append(rsvps.getCount(RSVPStatus.NO_RESPONSE)).append("\n");
 
     detailsArea.setText(sb.toString());
     detailsArea.setCaretPosition(0);
-
-    // also refresh RSVP list for this event
-    refreshRsvpList(e);
     }
 
     // RSVP data helpers
@@ -1571,26 +1749,28 @@ public class OpenHouseManagerGUI extends JFrame {
     rsvpListModel.clear();
     }
     rsvpVisitors.clear();
+    rsvpEvent = null;
     if (inviteeNameField != null) inviteeNameField.setText("");
     if (inviteeEmailField != null) inviteeEmailField.setText("");
     if (inviteePhoneField != null) inviteePhoneField.setText("");
     }
 
     private void refreshRsvpList(Event e) {
-    rsvpListModel.clear();
     rsvpVisitors.clear();
+    rsvpEvent = e;
 
-    if (e == null) return;
+    if (e == null) {
+    rsvpListModel.clear();
+    return;
+    }
 
     java.util.Map<Visitor, RSVPStatus> all = e.getAllRsvps();
+    java.util.List<VisitorRow> rows = new ArrayList<>(all.size());
     for (java.util.Map.Entry<Visitor, RSVPStatus> entry : all.entrySet()) {
-    Visitor v = entry.getKey();
-    RSVPStatus status = entry.getValue();
-    rsvpVisitors.add(v);
-
-    String label = v.getName() + " <" + v.getEmail() + "> - " + status;
-    rsvpListModel.addElement(label);
+    rsvpVisitors.add(entry.getKey());
+    rows.add(VisitorRow.of(entry.getKey(), entry.getValue()));
     }
+    rsvpListModel.replaceAll(rows);
     }
 
     // Add invitee using addInvitee(...)
@@ -1625,15 +1805,89 @@ public class OpenHouseManagerGUI extends JFrame {
     }
 
     Visitor v = new Visitor(name, email, phone);
-    e.addInvitee(v);
-
-    refreshRsvpList(e);
+    e.addInvitee(v); // rsvpChanged() adds the row
 
     inviteeNameField.setText("");
     inviteeEmailField.setText("");
     inviteePhoneField.setText("");
     }
 
+    // Import a CSV / JSON Lines invitee list; parsing and batching run on a
+    // worker, and inviteesAdded() appends each batch to the list
+    private void importInviteesForSelectedEvent() {
+    Event e = selectedEvent();
+    if (e == null) {
+    JOptionPane.showMessageDialog( parent, "Please select an event first.", "No Event Selected", JOptionPane.WARNING_MESSAGE);
+    return;
+    }
+    if (e.isClosed() || (!e.isScheduled() && !e.isActive())) {
+    JOptionPane.showMessageDialog( parent, "You can only add invitees to scheduled or open events.", "Event Not Ready", JOptionPane.WARNING_MESSAGE);
+    return;
+    }
+
+    JFileChooser chooser = new JFileChooser();
+    chooser.setDialogTitle("Import invitees (CSV or JSON Lines)");
+    if (chooser.showOpenDialog(parent) != JFileChooser.APPROVE_OPTION) {
+    return;
+    }
+    java.nio.file.Path source = chooser.getSelectedFile().toPath();
+
+    ProgressMonitor monitor = new ProgressMonitor(parent, "Importing invitees from " + source.getFileName(), "", 0, 1000);
+    monitor.setMillisToDecideToPopup(200);
+
+    new SwingWorker<InviteeImporter.Result, Object[]>() {
+    @Override
+    protected InviteeImporter.Result doInBackground() throws Exception {
+    Thread worker = Thread.currentThread();
+    // batches are applied on the EDT, in turn with snapshots
+    return new InviteeImporter(e).setModelThread(SwingUtilities::invokeLater).importFile(source, (soFar, fraction) -> {
+    publish(new Object[] { soFar.toString(), fraction });
+    if (isCancelled()) worker.interrupt();
+    });
+    }
+
+    @Override
+    protected void process(java.util.List<Object[]> chunks) {
+    Object[] last = chunks.get(chunks.size() - 1);
+    monitor.setNote((String) last[0]);
+    monitor.setProgress((int) ((Double) last[1] * 1000));
+    if (monitor.isCanceled()) cancel(false);
+    }
+
+    @Override
+    protected void done() {
+    monitor.close();
+    if (isCancelled()) {
+    JOptionPane.showMessageDialog(parent, "Import cancelled; invitees added so far were kept.", "Import Cancelled", JOptionPane.INFORMATION_MESSAGE);
+    return;
+    }
+    try {
+    InviteeImporter.Result result = get();
+    if (result == null) {
+    JOptionPane.showMessageDialog(parent, "This event can no longer accept invitees.", "Import Error", JOptionPane.ERROR_MESSAGE);
+    return;
+    }
+    StringBuilder msg = new StringBuilder();
+    msg.append("Read ").append(result.getRows()).append(" rows.\n")
+    .append(result.getAdded()).append(" invitees added, ")
+    .append(result.getDuplicates()).append(" already invited or duplicated, ")
+    .append(result.getRejected()).append(" rejected.");
+    java.util.List<InviteeImporter.Reject> rejects = result.getRejects();
+    for (int i = 0; i < Math.min(10, rejects.size()); i++) {
+    msg.append(i == 0 ? "\n\nRejected rows:\n" : "\n").append(rejects.get(i));
+    }
+    if (result.getRejected() > 10) {
+    msg.append("\n...");
+    }
+    JOptionPane.showMessageDialog(parent, msg.toString(), "Import Complete", JOptionPane.INFORMATION_MESSAGE);
+    } catch (Exception ex) {
+    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+    JOptionPane.showMessageDialog(parent, "Import failed: " + cause.getMessage(), "Import Error", JOptionPane.ERROR_MESSAGE);
+    }
+    }
+    }.execute();
+    }
+
     // update RSVP using setRsvp
     private void updateRsvpForSelectedInvitee() {
     int eventIndex = eventList.getSelectedIndex();
@@ -1657,9 +1911,40 @@ public class OpenHouseManagerGUI extends JFrame {
     return;
     }
 
-    e.setRsvp(v, status);
-    refreshRsvpList(e);
-    showEventDetails(eventIndex); // refresh summary counts too
+    e.setRsvp(v, status); // rsvpChanged() updates the row and the counts
+    }
+
+    // moves the selected event; reminders follow it automatically
+    private void rescheduleSelectedEvent() {
+    Event e = selectedEvent();
+    if (e == null) {
+    JOptionPane.showMessageDialog(parent,"Please select an event first.","No Event Selected",JOptionPane.WARNING_MESSAGE);
+    return;
+    }
+    if (e.isClosed()) {
+    JOptionPane.showMessageDialog(parent,"A closed event cannot be rescheduled.","Event Closed",JOptionPane.WARNING_MESSAGE);
+    return;
+    }
+
+    DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    String input = (String) JOptionPane.showInputDialog(parent,
+    "New start (yyyy-MM-dd HH:mm):", "Reschedule " + e.getEventId(),
+    JOptionPane.PLAIN_MESSAGE, null, null, e.getStartTime().format(fmt));
+    if (input == null) {
+    return;
+    }
+
+    LocalDateTime newStart;
+    try {
+    newStart = LocalDateTime.parse(input.trim(), fmt);
+    } catch (DateTimeParseException ex) {
+    JOptionPane.showMessageDialog(parent,"Invalid date/time format. Please use yyyy-MM-dd HH:mm.","Input Error",JOptionPane.ERROR_MESSAGE);
+    return;
+    }
+
+    if (!e.reschedule(newStart)) {
+    JOptionPane.showMessageDialog(parent,"You or this house already have an event at that time.","Time Conflict",JOptionPane.WARNING_MESSAGE);
+    }
     }
 
     private void changeEventStatus(boolean activate) {
@@ -1678,15 +1963,118 @@ public class OpenHouseManagerGUI extends JFrame {
     e.close();
     }
 
-    showEventDetails(index);
-
     if (parent.kioskPanel != null) {
     parent.kioskPanel.refresh();
     }
-    if (parent.checkInPanel != null) {
-    parent.checkInPanel.refresh();
     }
     }
+
+    // logic for the export button: pick what to export and where, then write it off the EDT
+    private void exportDataFromGui() {
+    Agent agent = getCurrentAgent();
+    if (agent == null) {
+    JOptionPane.showMessageDialog(this,"No agent is currently logged in.","Error", JOptionPane.ERROR_MESSAGE);
+    return;
+    }
+
+    JPanel form = new JPanel(new GridBagLayout());
+    form.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+    GridBagConstraints gbc = new GridBagConstraints();
+    gbc.insets = new Insets(4, 4, 4, 4);
+    gbc.fill = GridBagConstraints.HORIZONTAL;
+
+    gbc.gridx = 0;
+    gbc.gridy = 0;
+    form.add(new JLabel("Export:"), gbc);
+    gbc.gridx = 1;
+    JComboBox<DataExporter.Table> tableCombo = new JComboBox<>(DataExporter.Table.values());
+    form.add(tableCombo, gbc);
+
+    gbc.gridx = 0;
+    gbc.gridy++;
+    form.add(new JLabel("Format:"), gbc);
+    gbc.gridx = 1;
+    JComboBox<DataExporter.Format> formatCombo = new JComboBox<>(DataExporter.Format.values());
+    form.add(formatCombo, gbc);
+
+    // house filter; "(all houses)" first
+    gbc.gridx = 0;
+    gbc.gridy++;
+    form.add(new JLabel("House:"), gbc);
+    gbc.gridx = 1;
+    java.util.List<House> houses = agent.getProperties();
+    String[] houseOptions = new String[houses.size() + 1];
+    houseOptions[0] = "(all houses)";
+    for (int i = 0; i < houses.size(); i++) {
+    houseOptions[i + 1] = houses.get(i).getAddress();
+    }
+    JComboBox<String> houseCombo = new JComboBox<>(houseOptions);
+    form.add(houseCombo, gbc);
+
+    gbc.gridx = 0;
+    gbc.gridy++;
+    form.add(new JLabel("From (yyyy-MM-dd, optional):"), gbc);
+    gbc.gridx = 1;
+    JTextField fromField = new JTextField(12);
+    form.add(fromField, gbc);
+
+    gbc.gridx = 0;
+    gbc.gridy++;
+    form.add(new JLabel("To (yyyy-MM-dd, optional):"), gbc);
+    gbc.gridx = 1;
+    JTextField toField = new JTextField(12);
+    form.add(toField, gbc);
+
+    int result = JOptionPane.showConfirmDialog(this,form,"Export Data",JOptionPane.OK_CANCEL_OPTION,JOptionPane.PLAIN_MESSAGE);
+    if (result != JOptionPane.OK_OPTION) {
+    return;
+    }
+
+    // agents only ever export their own events and visitors
+    DataExporter.Filter filter = new DataExporter.Filter().agent(agent);
+    int houseIndex = houseCombo.getSelectedIndex();
+    if (houseIndex > 0) {
+    filter.house(houses.get(houseIndex - 1));
+    }
+    try {
+    String from = fromField.getText().trim();
+    String to = toField.getText().trim();
+    if (!from.isEmpty()) filter.from(java.time.LocalDate.parse(from).atStartOfDay());
+    if (!to.isEmpty()) filter.to(java.time.LocalDate.parse(to).plusDays(1).atStartOfDay()); // whole "to" day
+    } catch (DateTimeParseException ex) {
+    JOptionPane.showMessageDialog(this,"Invalid date. Please use yyyy-MM-dd.","Input Error",JOptionPane.ERROR_MESSAGE);
+    return;
+    }
+
+    DataExporter.Table table = (DataExporter.Table) tableCombo.getSelectedItem();
+    DataExporter.Format format = (DataExporter.Format) formatCombo.getSelectedItem();
+
+    JFileChooser chooser = new JFileChooser();
+    chooser.setSelectedFile(new File(table.name().toLowerCase(Locale.ROOT) + (format == DataExporter.Format.CSV ? ".csv" : ".jsonl")));
+    if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+    return;
+    }
+    java.nio.file.Path target = chooser.getSelectedFile().toPath();
+
+    new SwingWorker<Long, Void>() {
+    @Override
+    protected Long doInBackground() throws Exception {
+    return DataExporter.export(table, format, target, filter);
+    }
+
+    @Override
+    protected void done() {
+    try {
+    long rows = get();
+    JOptionPane.showMessageDialog(OpenHouseManagerGUI.this,
+    "Exported " + rows + " rows to " + target + ".","Export Complete",JOptionPane.INFORMATION_MESSAGE);
+    } catch (Exception ex) {
+    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+    JOptionPane.showMessageDialog(OpenHouseManagerGUI.this,
+    "Export failed: " + cause.getMessage(),"Export Error",JOptionPane.ERROR_MESSAGE);
+    }
+    }
+    }.execute();
     }
 
     // logic for add event button
@@ -1741,6 +2129,15 @@ public class OpenHouseManagerGUI extends JFrame {
     JTextField dateTimeField = new JTextField(defaultStart.format(fmt), 18);
     form.add(dateTimeField, gbc);
 
+    // Duration
+    gbc.gridx = 0;
+    gbc.gridy++;
+    form.add(new JLabel("Duration (minutes):"), gbc);
+
+    gbc.gridx = 1;
+    JTextField durationField = new JTextField(String.valueOf(Event.DEFAULT_DURATION_MINUTES), 10);
+    form.add(durationField, gbc);
+
     // Capacity
     gbc.gridx = 0;
     gbc.gridy++;
@@ -1799,6 +2196,26 @@ public class OpenHouseManagerGUI extends JFrame {
     return;
     }
 
+    int durationMinutes;
+    try {
+    durationMinutes = Integer.parseInt(durationField.getText().trim());
+    if (durationMinutes <= 0) throw new NumberFormatException("duration <= 0");
+    } catch (NumberFormatException ex) {
+    JOptionPane.showMessageDialog(this,"Duration must be a positive number of minutes.","Input Error",JOptionPane.ERROR_MESSAGE);
+    return;
+    }
+
+    // the agent and the house can each only have one open house at a time
+    Event conflict = agent.findConflict(selectedHouse, startTime, durationMinutes);
+    if (conflict != null) {
+    DateTimeFormatter shown = DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
+    JOptionPane.showMessageDialog(this,
+    "That time overlaps " + conflict.getEventId() + " at " + conflict.getAddress()
+    + "\n(" + conflict.getStartTime().format(shown) + " - " + conflict.getEndTime().format(shown) + ").",
+    "Schedule Conflict",JOptionPane.WARNING_MESSAGE);
+    return;
+    }
+
     int capacity;
     try {
     capacity = Integer.parseInt(capacityField.getText().trim());
@@ -1819,7 +2236,7 @@ public class OpenHouseManagerGUI extends JFrame {
     // ---------- Create event via Agent ----------
     Event newEvent;
     try {
-    newEvent = agent.createEvent(selectedHouse, startTime, capacity, checkInCode);
+    newEvent = agent.createEvent(selectedHouse, startTime, durationMinutes, capacity, checkInCode);
     if (newEvent == null) {
     JOptionPane.showMessageDialog(this,"The event could not be created (Agent returned null).","Error",JOptionPane.ERROR_MESSAGE);
     return;
@@ -1830,10 +2247,8 @@ public class OpenHouseManagerGUI extends JFrame {
     return;
     }
 
-    // agent printout
-    String info = captureConsoleOutput(() ->
-    agent.printRsvpSummary(newEvent)
-    );
+    // agent summary for the new event
+    String info = formatRsvpSummary(agent.getRsvpSummary(newEvent));
 
     JTextArea infoArea = new JTextArea(info, 15, 50);
     infoArea.setEditable(false);
@@ -1844,23 +2259,20 @@ public class OpenHouseManagerGUI extends JFrame {
     scroll.setPreferredSize(new Dimension(500, 300));
 
     JOptionPane.showMessageDialog(this,scroll,"Event Created: " + newEvent.getEventId(),JOptionPane.INFORMATION_MESSAGE);
-
-    // Refresh Events panel so new event appears
-    if (eventsPanel != null) {
-    eventsPanel.refresh();
-    }
+    // the event lists pick the new event up from ModelListener.eventAdded()
     }
 
     /* This panel shows the event, displays the visitors for the event, and their information*/
     // ======================================================
     // CHECK-IN RECORDS PANEL
     // ======================================================
-    private static class CheckInPanel extends JPanel {
+    private static class CheckInPanel extends JPanel implements ModelListener {
     private OpenHouseManagerGUI parent;
     private JList<String> eventList;
-    private DefaultListModel<String> listModel;
+    private BulkListModel<String> listModel;
     private JTextArea detailsArea;
     private java.util.List<Event> eventObjects = new ArrayList<>();
+    private Agent shownAgent;
 
     public CheckInPanel(OpenHouseManagerGUI parent) {
     this.parent = parent;
@@ -1890,7 +2302,7 @@ public class OpenHouseManagerGUI extends JFrame {
     add(header, BorderLayout.NORTH);
 
     //left side event list
-    listModel = new DefaultListModel<>();
+    listModel = new BulkListModel<>();
     eventList = new JList<>(listModel);
     eventList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
     eventList.setVisibleRowCount(18);
@@ -1926,36 +2338,60 @@ public class OpenHouseManagerGUI extends JFrame {
     showCheckIns(eventList.getSelectedIndex());
     }
     });
+
+    ModelEvents.getInstance().addListener(this);
     }
 
+    // Same idea as EventsPanel: full rebuild only when the agent changes
     public void refresh() {
-    listModel.clear();
-    detailsArea.setText("");
-    eventObjects.clear();
-
     Agent agent = parent.getCurrentAgent();
-    if (agent == null) return;
+    if (agent != null && agent == shownAgent) {
+    showCheckIns(eventList.getSelectedIndex());
+    return;
+    }
 
-    java.util.List<House> houses = agent.getProperties();
-    if (houses == null) return;
+    shownAgent = agent;
+    detailsArea.setText("");
+    eventObjects.clear();
 
-    DateTimeFormatter fmt = DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
+    if (agent == null) {
+    listModel.clear();
+    return;
+    }
 
-    for (House h : houses) {
-    java.util.List<Event> evs = h.getEvents();
-    if (evs == null) continue;
-    for (Event e : evs) {
+    java.util.List<String> labels = new ArrayList<>();
+    for (House h : agent.getProperties()) {
+    for (Event e : h.getEvents()) {
     eventObjects.add(e);
-    String label = e.getEventId()
-    + " | " + h.getAddress()
-    + " | " + (e.getStartTime() != null ? e.getStartTime().format(fmt) : "No time");
-    listModel.addElement(label);
+    labels.add(EventsPanel.eventLabel(e));
+    }
     }
+    if (eventObjects.isEmpty()) {
+    labels.add("(No check-ins yet)");
+    }
+    listModel.replaceAll(labels);
     }
 
+    @Override
+    public void eventAdded(Event e) {
+    onEdt(() -> {
+    if (shownAgent == null || !shownAgent.getProperties().contains(e.getHouse())) return;
     if (eventObjects.isEmpty()) {
-    listModel.addElement("(No check-ins yet)");
+    listModel.clear();
     }
+    eventObjects.add(e);
+    listModel.add(EventsPanel.eventLabel(e));
+    });
+    }
+
+    @Override
+    public void visitorCheckedIn(Event e, Visitor v) {
+    onEdt(() -> {
+    int index = eventList.getSelectedIndex();
+    if (index >= 0 && index < eventObjects.size() && eventObjects.get(index) == e) {
+    showCheckIns(index);
+    }
+    });
     }
 
     //shows the invitees that have checked in and their details
@@ -1970,8 +2406,7 @@ public class OpenHouseManagerGUI extends JFrame {
     sb.append("Event: ").append(e.getEventId())
     .append(" at ").append(e.getAddress()).append("\n\n");
 
-    java.util.List<Visitor> visitors = e.getVisitors();
-    if (visitors == null || visitors.isEmpty()) {
+    if (e.getCheckInCount() == 0) {
     sb.append("No visitors have checked in for this event.\n");
     detailsArea.setText(sb.toString());
     return;
@@ -1979,18 +2414,12 @@ public class OpenHouseManagerGUI extends JFrame {
 
     DateTimeFormatter fmt = DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
 
-    for (Visitor v : visitors) {
-    java.util.List<CheckInRecord> history = v.getCheckInHistory();
-    for (CheckInRecord record : history) {
-    if (record.getEvent() == e) {
-    sb.append("Visitor: ").append(v.getName())
+    // the event's own log, already in arrival order
+    e.forEachCheckIn((v, record) -> sb.append("Visitor: ").append(v.getName())
     .append("\n Time: ").append(record.getTimestamp().format(fmt))
     .append("\n Email: ").append(v.getEmail())
     .append("\n Phone: ").append(v.getPhone())
-    .append("\n\n");
-    }
-    }
-    }
+    .append("\n\n"));
 
     detailsArea.setText(sb.toString());
     detailsArea.setCaretPosition(0);
@@ -2003,13 +2432,15 @@ public class OpenHouseManagerGUI extends JFrame {
     // ======================================================
     // VISITORS PANEL (Directory + Check-in History)
     // ======================================================
-    private static class VisitorsPanel extends JPanel {
+    private static class VisitorsPanel extends JPanel implements ModelListener {
     private OpenHouseManagerGUI parent;
-    private JList<String> visitorList;
-    private DefaultListModel<String> listModel;
+    private JList<VisitorRow> visitorList;
+    private BulkListModel<VisitorRow> listModel;
     private JTextArea detailsArea;
 
     private java.util.List<Visitor> visitorObjects = new ArrayList<>();
+    private Map<String, Visitor> shownByEmail = new LinkedHashMap<>(); // normalized email -> row's visitor
+    private Agent shownAgent;
     private JCheckBox mailingListBox;
     private boolean suppressMailingListEvents = false;
 
@@ -2040,9 +2471,10 @@ public class OpenHouseManagerGUI extends JFrame {
     add(header, BorderLayout.NORTH);
 
     // left side visitor list
-    listModel = new DefaultListModel<>();
+    listModel = new BulkListModel<>();
     visitorList = new JList<>(listModel);
     visitorList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+    VisitorRowRenderer.install(visitorList, 240);
     JScrollPane listScroll = new JScrollPane(visitorList);
 
     // right side details and check in history for each visitor
@@ -2091,69 +2523,86 @@ public class OpenHouseManagerGUI extends JFrame {
     Visitor v = visitorObjects.get(index);
     v.setMailingListConsent(mailingListBox.isSelected());
     });
+
+    ModelEvents.getInstance().addListener(this);
     }
 
+    // Full rebuild only when the agent changes; check-ins are applied as deltas
     public void refresh() {
-    listModel.clear();
+    Agent agent = parent.getCurrentAgent();
+    if (agent != null && agent == shownAgent) {
+    showVisitorDetails(visitorList.getSelectedIndex());
+    return;
+    }
+
+    shownAgent = agent;
     detailsArea.setText("");
     visitorObjects.clear();
+    shownByEmail.clear();
 
     mailingListBox.setSelected(false);
     mailingListBox.setEnabled(false);
     visitorList.setEnabled(true);
 
-    Agent agent = parent.getCurrentAgent();
     if (agent == null) {
-    listModel.addElement("(No agent logged in)");
+    listModel.replaceAll(java.util.Collections.singletonList(VisitorRow.placeholder("(No agent logged in)")));
     visitorList.setEnabled(false);
     return;
     }
 
-    java.util.List<House> houses = agent.getProperties();
-    if (houses == null || houses.isEmpty()) {
-    listModel.addElement("(No houses / visitors yet)");
-    visitorList.setEnabled(false);
-    return;
-    }
-
-    // Use email as a key to dedupe visitors
-    Map<String, Visitor> byEmail = new LinkedHashMap<>();
-
-    for (House h : houses) {
-    java.util.List<Event> evs = h.getEvents();
-    if (evs == null) continue;
-    for (Event e : evs) {
-    java.util.List<Visitor> vs = e.getVisitors();
-    if (vs == null) continue;
-    for (Visitor v : vs) {
-    if (v == null) continue;
-    String email = v.getEmail() == null ? "" : v.getEmail();
-    if (!byEmail.containsKey(email)) {
-    byEmail.put(email, v);
-    }
+    // everyone who checked in at one of the agent's houses, whoever ran the event
+    for (House h : agent.getProperties()) {
+    for (Event e : h.getEvents()) {
+    for (Visitor v : e.getVisitors()) {
+    shownByEmail.putIfAbsent(Event.normalizeEmail(v.getEmail()), v);
     }
     }
     }
 
-    if (byEmail.isEmpty()) {
-    listModel.addElement("(No visitors yet)");
+    if (shownByEmail.isEmpty()) {
+    String empty = agent.getProperties().isEmpty() ? "(No houses / visitors yet)" : "(No visitors yet)";
+    listModel.replaceAll(java.util.Collections.singletonList(VisitorRow.placeholder(empty)));
     visitorList.setEnabled(false);
     return;
     }
 
     mailingListBox.setEnabled(true);
 
-    for (Visitor v : byEmail.values()) {
+    java.util.List<VisitorRow> rows = new ArrayList<>(shownByEmail.size());
+    for (Visitor v : shownByEmail.values()) {
     visitorObjects.add(v);
-    String label = v.getName() + " <" + v.getEmail() + ">";
-    listModel.addElement(label);
+    rows.add(VisitorRow.of(v));
     }
+    listModel.replaceAll(rows);
 
     // Optionally auto-select first visitor
-    if (!visitorObjects.isEmpty()) {
     visitorList.setSelectedIndex(0);
     showVisitorDetails(0);
     }
+
+    @Override
+    public void visitorCheckedIn(Event e, Visitor v) {
+    onEdt(() -> {
+    if (shownAgent == null || !shownAgent.getProperties().contains(e.getHouse())) return;
+
+    Visitor shown = shownByEmail.get(Event.normalizeEmail(v.getEmail()));
+    if (shown == null) {
+    if (visitorObjects.isEmpty()) {
+    listModel.clear(); // drop the placeholder row
+    visitorList.setEnabled(true);
+    mailingListBox.setEnabled(true);
+    }
+    shownByEmail.put(Event.normalizeEmail(v.getEmail()), v);
+    visitorObjects.add(v);
+    listModel.add(VisitorRow.of(v));
+    } else {
+    // new history entry for someone already listed
+    int index = visitorList.getSelectedIndex();
+    if (index >= 0 && index < visitorObjects.size() && visitorObjects.get(index) == shown) {
+    showVisitorDetails(index);
+    }
+    }
+    });
     }
 
     //shows details and history for the selected visitor
@@ -2211,19 +2660,21 @@ public class OpenHouseManagerGUI extends JFrame {
     // ======================================================
     // EMAIL PANEL
     // ======================================================
-    private static class EmailPanel extends JPanel {
+    private static class EmailPanel extends JPanel implements ModelListener {
     private OpenHouseManagerGUI parent;
 
     private JComboBox<String> eventCombo;
     private java.util.List<Event> eventObjects = new ArrayList<>();
+    private Agent shownAgent;
 
     private JTextField subjectField;
     private JTextArea bodyArea;
 
     // recipients on the right
-    private DefaultListModel<String> recipientListModel;
-    private JList<String> recipientList;
-    private java.util.List<Visitor> recipientObjects = new ArrayList<>();
+    private BulkListModel<VisitorRow> recipientListModel;
+    private JList<VisitorRow> recipientList;
+    private final RowIndex<Visitor> recipientObjects = new RowIndex<>();
+    private Event recipientEvent;      // whose visitors are in recipientList
     private JLabel recipientCountLabel;
 
     public EmailPanel(OpenHouseManagerGUI parent) {
@@ -2315,9 +2766,10 @@ public class OpenHouseManagerGUI extends JFrame {
     recipientsTitle.setFont(new Font("Century Gothic", Font.BOLD, 14));
     recipientsPanel.add(recipientsTitle, BorderLayout.NORTH);
 
-    recipientListModel = new DefaultListModel<>();
+    recipientListModel = new BulkListModel<>();
     recipientList = new JList<>(recipientListModel);
     recipientList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+    VisitorRowRenderer.install(recipientList, 240);
 
     JScrollPane recipientsScroll = new JScrollPane(recipientList);
     recipientsScroll.setPreferredSize(new Dimension(260, 200));
@@ -2381,66 +2833,83 @@ public class OpenHouseManagerGUI extends JFrame {
     updateRecipientCount();
     }
     });
+
+    ModelEvents.getInstance().addListener(this);
     }
 
-    // Called from showScreen(CARD_EMAIL)
+    // Called from showScreen(CARD_EMAIL); rebuilds only when the agent changes
     public void refresh() {
-    eventCombo.removeAllItems();
-    eventObjects.clear();
-
-    recipientListModel.clear();
-    recipientObjects.clear();
-    updateRecipientCount();
-
     Agent agent = parent.getCurrentAgent();
-    if (agent == null) return;
+    if (agent != null && agent == shownAgent) return;
 
-    java.util.List<House> houses = agent.getProperties();
-    if (houses == null) return;
-
-    DateTimeFormatter fmt = DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
+    shownAgent = agent;
+    eventObjects.clear();
 
-    for (House h : houses) {
-    java.util.List<Event> evs = h.getEvents();
-    if (evs == null) continue;
-    for (Event e : evs) {
+    java.util.List<String> labels = new ArrayList<>();
+    if (agent != null) {
+    for (House h : agent.getProperties()) {
+    for (Event e : h.getEvents()) {
     eventObjects.add(e);
-    String label = e.getEventId()
-    + " - " + h.getAddress()
-    + " - " + (e.getStartTime() != null ? e.getStartTime().format(fmt) : "No time");
-    eventCombo.addItem(label);
+    labels.add(eventLabel(e));
+    }
     }
     }
+    // one new model instead of an addItem() (and its events) per row
+    eventCombo.setModel(new DefaultComboBoxModel<>(labels.toArray(new String[0])));
 
     // Auto-load recipients for first event, if any
-    if (!eventObjects.isEmpty()) {
-    eventCombo.setSelectedIndex(0);
     loadRecipientsForSelectedEvent();
     }
+
+    private static String eventLabel(Event e) {
+    DateTimeFormatter fmt = DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
+    return e.getEventId()
+    + " - " + e.getAddress()
+    + " - " + (e.getStartTime() != null ? e.getStartTime().format(fmt) : "No time");
     }
+
+    @Override
+    public void eventAdded(Event e) {
+    onEdt(() -> {
+    if (shownAgent == null || !shownAgent.getProperties().contains(e.getHouse())) return;
+    eventObjects.add(e);
+    eventCombo.addItem(eventLabel(e)); // selects and loads it if it's the first
+    });
+    }
+
+    @Override
+    public void visitorCheckedIn(Event e, Visitor v) {
+    onEdt(() -> {
+    // repeat check-ins don't add a new visitor to the event
+    if (e != recipientEvent || !e.hasCheckedIn(v)
+    || recipientObjects.contains(v)) return;
+    recipientObjects.add(v);
+    recipientListModel.add(VisitorRow.of(v));
+    updateRecipientCount();
+    });
+    }
+
     //makes the recepients pop up for the event thats selected
     private void loadRecipientsForSelectedEvent() {
-    recipientListModel.clear();
     recipientObjects.clear();
+    recipientEvent = null;
 
     int idx = eventCombo.getSelectedIndex();
     if (idx < 0 || idx >= eventObjects.size()) {
+    recipientListModel.clear();
     updateRecipientCount();
     return;
     }
 
     Event event = eventObjects.get(idx);
-    java.util.List<Visitor> visitors = event.getVisitors();
-    if (visitors == null) {
-    updateRecipientCount();
-    return;
-    }
+    recipientEvent = event;
 
-    for (Visitor v : visitors) {
-    String display = v.getName() + " - " + v.getEmail();
+    java.util.List<VisitorRow> rows = new ArrayList<>();
+    for (Visitor v : event.getVisitors()) {
     recipientObjects.add(v);
-    recipientListModel.addElement(display);
+    rows.add(VisitorRow.of(v));
     }
+    recipientListModel.replaceAll(rows);
 
     // By default, select all recipients for convenience
     if (!recipientObjects.isEmpty()) {
@@ -2513,10 +2982,15 @@ public class OpenHouseManagerGUI extends JFrame {
     private static class VisitorHouseBrowserFrame extends JFrame {
     private OpenHouseManagerGUI parent;
     private java.util.List<House> houses;
+    private java.util.List<House> shownHouses;   // list rows: all houses or the search/filter hits
+    private DefaultListModel<String> model;
+    private JTextField searchField;
+    private HouseQuery houseQuery = new HouseQuery();   // price/beds/... ranges, empty = no filter
+    private JLabel filterLabel;
     private JList<String> houseJList;
     private JLabel photoLabel;
     private JTextArea infoArea;
-    private java.util.List<ImageIcon> currentPhotos = java.util.Collections.emptyList();
+    private java.util.List<String> currentPhotos = java.util.Collections.emptyList(); // image paths
     private int currentPhotoIndex = -1;
     private JButton prevButton;
     private JButton nextButton;
@@ -2530,15 +3004,52 @@ public class OpenHouseManagerGUI extends JFrame {
     setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
     setSize(900, 550);
 
-    // Left: house list
-    DefaultListModel<String> model = new DefaultListModel<>();
+    // Left: search box over the house list
+    model = new DefaultListModel<>();
+    shownHouses = houses;
     for (House h : houses) {
     model.addElement(h.getAddress());
     }
     houseJList = new JList<>(model);
     houseJList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 
-    JScrollPane listScroll = new JScrollPane(houseJList);
+    searchField = new JTextField();
+    searchField.setToolTipText("Search by address or description");
+    searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+    public void insertUpdate(javax.swing.event.DocumentEvent e) { filterHouses(); }
+    public void removeUpdate(javax.swing.event.DocumentEvent e) { filterHouses(); }
+    public void changedUpdate(javax.swing.event.DocumentEvent e) { filterHouses(); }
+    });
+
+    // range filters (HouseRangeIndex) under the search box
+    JButton filterButton = new JButton("Filter...");
+    JButton clearFilterButton = new JButton("Clear");
+    filterLabel = new JLabel(houseQuery.toString());
+    filterButton.addActionListener(e -> {
+    HouseQuery q = editHouseQuery(this, houseQuery);
+    if (q != null) {
+    houseQuery = q;
+    filterHouses();
+    }
+    });
+    clearFilterButton.addActionListener(e -> {
+    houseQuery = new HouseQuery();
+    filterHouses();
+    });
+
+    JPanel listPanel = new JPanel(new BorderLayout(0, 4));
+    JPanel searchRow = new JPanel(new BorderLayout(4, 0));
+    searchRow.add(new JLabel("Search:"), BorderLayout.WEST);
+    searchRow.add(searchField, BorderLayout.CENTER);
+    JPanel filterRow = new JPanel(new FlowLayout(FlowLayout.LEFT, 4, 0));
+    filterRow.add(filterButton);
+    filterRow.add(clearFilterButton);
+    filterRow.add(filterLabel);
+    JPanel topRows = new JPanel(new GridLayout(2, 1, 0, 4));
+    topRows.add(searchRow);
+    topRows.add(filterRow);
+    listPanel.add(topRows, BorderLayout.NORTH);
+    listPanel.add(new JScrollPane(houseJList), BorderLayout.CENTER);
 
     // Right: details + single photo with prev/next
     JPanel rightPanel = new JPanel(new BorderLayout(8, 8));
@@ -2574,7 +3085,7 @@ public class OpenHouseManagerGUI extends JFrame {
 
     JSplitPane split = new JSplitPane(
     JSplitPane.HORIZONTAL_SPLIT,
-    listScroll,
+    listPanel,
     rightPanel
     );
     split.setDividerLocation(260);
@@ -2586,8 +3097,10 @@ public class OpenHouseManagerGUI extends JFrame {
     houseJList.addListSelectionListener(e -> {
     if (!e.getValueIsAdjusting()) {
     int idx = houseJList.getSelectedIndex();
-    if (idx >= 0 && idx < houses.size()) {
-    showHouse(houses.get(idx));
+    if (idx >= 0 && idx < shownHouses.size()) {
+    PhotoLoader.getInstance().cancelPrefetches(); // queued for the house we just left
+    showHouse(shownHouses.get(idx));
+    prefetchNeighbours(idx);
     }
     }
     });
@@ -2597,6 +3110,38 @@ public class OpenHouseManagerGUI extends JFrame {
     houseJList.setSelectedIndex(0);
     showHouse(houses.get(0));
     }
+
+    }
+
+    // first photo of the houses just above and below the selected one, so
+    // stepping through the list is instant without queueing every listing
+    private void prefetchNeighbours(int idx) {
+    for (int i = idx - 1; i <= idx + 1; i += 2) {
+    if (i < 0 || i >= shownHouses.size()) continue;
+    java.util.List<String> paths = shownHouses.get(i).getImagePaths();
+    if (!paths.isEmpty()) {
+    PhotoLoader.getInstance().prefetch(paths.get(0), Rendition.DISPLAY);
+    }
+    }
+    }
+
+    // narrow the list as the visitor types (HouseSearchIndex) and by the
+    // price/beds/... filter (HouseRangeIndex)
+    private void filterHouses() {
+    String query = searchField.getText();
+    shownHouses = query.trim().isEmpty() ? houses
+    : HouseSearchIndex.getInstance().search(query, houses.size(), houses);
+    if (!houseQuery.isEmpty()) {
+    shownHouses = HouseRangeIndex.getInstance().query(houseQuery, shownHouses.size(), shownHouses);
+    }
+    filterLabel.setText(houseQuery.toString());
+    model.clear();
+    for (House h : shownHouses) {
+    model.addElement(h.getAddress());
+    }
+    if (!shownHouses.isEmpty()) {
+    houseJList.setSelectedIndex(0);
+    }
     }
 
     private void showHouse(House h) {
@@ -2623,25 +3168,22 @@ public class OpenHouseManagerGUI extends JFrame {
     infoArea.setText(sb.toString());
     infoArea.setCaretPosition(0);
 
-    // photos from House.imagePaths
-    java.util.List<String> paths = h.getImagePaths();
-    java.util.List<ImageIcon> icons = new ArrayList<>();
-    for (String path : paths) {
-    ImageIcon icon = loadIcon(path);
-    if (icon != null) {
-    icons.add(icon);
-    }
-    }
+    // photos from House.imagePaths; decoded lazily as DISPLAY renditions
+    java.util.List<String> paths = new ArrayList<>(h.getImagePaths());
 
-    if (icons.isEmpty()) {
+    if (paths.isEmpty()) {
     currentPhotos = java.util.Collections.emptyList();
     currentPhotoIndex = -1;
     photoLabel.setIcon(null);
     photoLabel.setText("No photos");
     } else {
-    currentPhotos = icons;
+    currentPhotos = paths;
     currentPhotoIndex = 0;
     showPhoto(currentPhotoIndex);
+    // the rest of this house's photos are generated in the background
+    for (int i = 1; i < paths.size(); i++) {
+    PhotoLoader.getInstance().prefetch(paths.get(i), Rendition.DISPLAY);
+    }
     }
     updatePhotoButtons();
     }
@@ -2658,14 +3200,30 @@ public class OpenHouseManagerGUI extends JFrame {
     return;
     }
     currentPhotoIndex = index;
-    ImageIcon raw = currentPhotos.get(index);
-    int w = photoLabel.getWidth();
-    int h = photoLabel.getHeight();
-    if (w <= 0) w = 420;
-    if (h <= 0) h = 260;
-    Image scaled = raw.getImage().getScaledInstance(w, h, Image.SCALE_SMOOTH);
-    photoLabel.setIcon(new ImageIcon(scaled));
+    final java.util.List<String> photos = currentPhotos;
+    String path = photos.get(index);
+
+    // renditions are pre-scaled, so next/previous never scales anything on the EDT
+    PhotoLoader loader = PhotoLoader.getInstance();
+    Image cached = loader.getCached(path, Rendition.DISPLAY);
+    if (cached != null) {
+    photoLabel.setIcon(new ImageIcon(cached));
+    photoLabel.setText(null);
+    } else {
+    photoLabel.setIcon(null);
+    photoLabel.setText("Loading photo...");
+    loader.load(path, Rendition.DISPLAY, img -> {
+    // ignore if the visitor has moved on to another photo/house
+    if (currentPhotos != photos || currentPhotoIndex != index) return;
+    if (img == null) {
+    photoLabel.setIcon(null);
+    photoLabel.setText("Photo unavailable");
+    } else {
+    photoLabel.setIcon(new ImageIcon(img));
     photoLabel.setText(null);
+    }
+    });
+    }
     updatePhotoButtons();
     }
 
@@ -2675,24 +3233,6 @@ public class OpenHouseManagerGUI extends JFrame {
     nextButton.setEnabled(has && currentPhotoIndex < currentPhotos.size() - 1);
     }
 
-    private ImageIcon loadIcon(String path) {
-    if (path == null || path.trim().isEmpty()) return null;
-    path = path.trim();
-
-    if (path.startsWith("/")) {
-    java.net.URL url = getClass().getResource(path);
-    if (url != null) {
-    return new ImageIcon(url);
-    }
-    }
-
-    File f = new File(path);
-    if (f.exists()) {
-    return new ImageIcon(f.getAbsolutePath());
-    }
-
-    return null;
-    }
     }
 
 
@@ -2727,19 +3267,90 @@ public class OpenHouseManagerGUI extends JFrame {
     return card;
     }
 
+    // price/size/beds/baths/year filter shared by the kiosk browser and HousesPanel;
+    // blank boxes don't filter. Returns null if cancelled or a box isn't a number.
+    private static HouseQuery editHouseQuery(Component owner, HouseQuery current) {
+    JPanel form = new JPanel(new GridBagLayout());
+    form.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+    GridBagConstraints gbc = new GridBagConstraints();
+    gbc.insets = new Insets(4, 4, 4, 4);
+    gbc.fill = GridBagConstraints.HORIZONTAL;
+    gbc.gridy = -1;
+
+    JTextField minPriceField = addQueryRow(form, gbc, "Min price:", current.getMin(HouseQuery.Field.PRICE), Integer.MIN_VALUE);
+    JTextField maxPriceField = addQueryRow(form, gbc, "Max price:", current.getMax(HouseQuery.Field.PRICE), Integer.MAX_VALUE);
+    JTextField sqftField = addQueryRow(form, gbc, "Min sqft:", current.getMin(HouseQuery.Field.SQFT), Integer.MIN_VALUE);
+    JTextField bedsField = addQueryRow(form, gbc, "Min bedrooms:", current.getMin(HouseQuery.Field.BEDS), Integer.MIN_VALUE);
+    JTextField bathsField = addQueryRow(form, gbc, "Min bathrooms:", current.getMin(HouseQuery.Field.BATHS), Integer.MIN_VALUE);
+    int builtAfter = current.getMin(HouseQuery.Field.YEAR_BUILT);
+    JTextField yearField = addQueryRow(form, gbc, "Built after (year):",
+    builtAfter == Integer.MIN_VALUE ? builtAfter : builtAfter - 1, Integer.MIN_VALUE);
+
+    int result = JOptionPane.showConfirmDialog(owner,form,"Filter Houses",JOptionPane.OK_CANCEL_OPTION,JOptionPane.PLAIN_MESSAGE);
+    if (result != JOptionPane.OK_OPTION) {
+    return null;
+    }
 
-    public String captureConsoleOutput(Runnable printer) {
-    PrintStream originalOut = System.out;
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    PrintStream ps = new PrintStream(baos);
-    System.setOut(ps);
+    HouseQuery q = new HouseQuery();
     try {
-    printer.run();
-    } finally {
-    System.setOut(originalOut);
-    ps.close();
+    String s;
+    if (!(s = minPriceField.getText().trim()).isEmpty()) q.atLeast(HouseQuery.Field.PRICE, Integer.parseInt(s));
+    if (!(s = maxPriceField.getText().trim()).isEmpty()) q.atMost(HouseQuery.Field.PRICE, Integer.parseInt(s));
+    if (!(s = sqftField.getText().trim()).isEmpty()) q.atLeast(HouseQuery.Field.SQFT, Integer.parseInt(s));
+    if (!(s = bedsField.getText().trim()).isEmpty()) q.atLeast(HouseQuery.Field.BEDS, Integer.parseInt(s));
+    if (!(s = bathsField.getText().trim()).isEmpty()) q.atLeast(HouseQuery.Field.BATHS, Integer.parseInt(s));
+    if (!(s = yearField.getText().trim()).isEmpty()) q.above(HouseQuery.Field.YEAR_BUILT, Integer.parseInt(s));
+    } catch (NumberFormatException ex) {
+    JOptionPane.showMessageDialog(owner,"Please enter whole numbers only.","Input Error",JOptionPane.ERROR_MESSAGE);
+    return null;
+    }
+    return q;
     }
-    return baos.toString();
+
+    // one label + text box row; unset shows as blank
+    private static JTextField addQueryRow(JPanel form, GridBagConstraints gbc, String label, int value, int unset) {
+    gbc.gridx = 0;
+    gbc.gridy++;
+    form.add(new JLabel(label), gbc);
+    gbc.gridx = 1;
+    JTextField field = new JTextField(value == unset ? "" : String.valueOf(value), 10);
+    form.add(field, gbc);
+    return field;
+    }
+
+
+    // text versions of the model's report objects
+    private static String formatRsvpSummary(RsvpSummary summary) {
+    if (summary == null) {
+    return "Invalid event.";
+    }
+    StringBuilder sb = new StringBuilder();
+    sb.append("=== RSVP Summary for Event ").append(summary.getEventId()).append(" ===\n");
+    sb.append("Event: ").append(summary.getAddress()).append(" on ").append(summary.getDate()).append("\n");
+    sb.append("Capacity: ").append(summary.getCapacity()).append("\n");
+    sb.append("YES: ").append(summary.getCount(RSVPStatus.YES)).append("\n");
+    sb.append("NO: ").append(summary.getCount(RSVPStatus.NO)).append("\n");
+    sb.append("MAYBE: ").append(summary.getCount(RSVPStatus.MAYBE)).append("\n");
+    sb.append("NO_RESPONSE: ").append(summary.getCount(RSVPStatus.NO_RESPONSE)).append("\n");
+    sb.append("Total Invites: ").append(summary.getTotalInvites()).append("\n");
+    if (summary.isOverbooked()) {
+    sb.append("*** OVERBOOKED ***\n");
+    }
+    return sb.toString();
+    }
+
+    private static String formatReceipt(CheckInReceipt receipt) {
+    DateTimeFormatter fmt = DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
+    StringBuilder sb = new StringBuilder();
+    sb.append("Visitor: ").append(receipt.getVisitorName())
+    .append(" <").append(receipt.getVisitorEmail()).append(">\n");
+    sb.append("Event: ").append(receipt.getEventId())
+    .append(" at ").append(receipt.getAddress()).append("\n");
+    sb.append("Checked in: ").append(receipt.getTimestamp().format(fmt)).append("\n");
+    sb.append("Attendance: ").append(receipt.getAttendance())
+    .append(" / ").append(receipt.getCapacity()).append("\n");
+    sb.append("Open houses visited: ").append(receipt.getTotalVisits()).append("\n");
+    return sb.toString();
     }
 
     private static void styleButtonBase(JButton btn, Color baseColor) {
@@ -0,0 +1,665 @@
+package org.finalproject.system;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/*
+ * Saves the whole model graph (everything reachable from Login) to disk.
+ *
+ * Two files make up the store:
+ *  - snapshot.dat : a serialized copy of the Login graph + the journal
+ *                   sequence number it includes
+ *  - journal-N.log: every mutation since then, appended as it happens
+ *
+ * Model classes call record(...) after a successful mutation. Entries go
+ * on a queue; one writer thread drains whatever has piled up, writes it
+ * in one go and fsyncs once per batch (group commit), so callers never
+ * wait on the disk. A batch that fails to write is cut off the segment and
+ * retried (then retried in a fresh segment); if that fails too the engine
+ * stops journaling and getFailure() says why. durableSeq only ever moves
+ * past batches that are fully on disk.
+ *
+ * On open() the snapshot is loaded and only the journal tail after it is
+ * replayed. Taking a new snapshot rolls the journal so old segments can be
+ * deleted.
+ *
+ * Every class written to a snapshot pins its serialVersionUID (to the value
+ * Java computed for it before pinning), so recompiling doesn't orphan old
+ * snapshots. If one still can't be read, it is moved aside and the model is
+ * rebuilt from whatever journal segments are left, rather than refusing to
+ * start.
+ */
+public class PersistenceEngine implements AutoCloseable {
+
+    private static final String SNAPSHOT = "snapshot.dat";
+    private static final String SNAPSHOT_TMP = "snapshot.tmp";
+    private static final String SNAPSHOT_UNREADABLE = "snapshot.unreadable";
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final int SNAPSHOT_MAGIC = 0x4F484D53; // "OHMS"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int MAX_BATCH = 4096;
+
+    // engine the model writes to; null means "not persisting" (or replaying)
+    private static volatile PersistenceEngine active;
+
+    private final Path dir;
+    private final Login login;
+
+    private final Object seqLock = new Object();
+    private long lastSeq;                      // guarded by seqLock
+
+    private final Object durableLock = new Object();
+    private long durableSeq;                   // guarded by durableLock
+
+    private final BlockingQueue<JournalEntry> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean rollRequested;
+    private boolean closed;                    // guarded by this
+
+    private FileChannel segment;               // writer thread only
+    private long segmentEnd;                   // writer thread only: end of the last good batch
+    private volatile IOException failure;
+    private ScheduledExecutorService snapshotTimer;
+
+    private PersistenceEngine(Path dir, Login login, long lastSeq) {
+        this.dir = dir;
+        this.login = login;
+        this.lastSeq = lastSeq;
+        this.durableSeq = lastSeq;
+        this.writer = new Thread(this::writeLoop, "journal-writer");
+        this.writer.setDaemon(true);
+    }
+
+    // ======================================================
+    // Hooks called by the model
+    // ======================================================
+
+    public static void record(JournalEntry.Type type, String... fields) {
+        PersistenceEngine e = active;
+        if (e != null) {
+            e.append(type, fields);
+        }
+    }
+
+    public static boolean isActive() {
+        return active != null;
+    }
+
+    private void append(JournalEntry.Type type, String[] fields) {
+        // seq assignment + enqueue together, so the queue is always in seq order
+        synchronized (seqLock) {
+            long seq = ++lastSeq;
+            queue.add(new JournalEntry(seq, System.currentTimeMillis(), type, fields));
+        }
+    }
+
+    // ======================================================
+    // Open / load
+    // ======================================================
+
+    /** Load the store in dir (creating it if needed) and start journaling. */
+    public static PersistenceEngine open(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        IdAllocator.claimNode(dir);
+        long start = System.nanoTime();
+
+        Login login = null;
+        long snapshotSeq = 0;
+        Path snap = dir.resolve(SNAPSHOT);
+        String unreadable = null;
+        if (Files.exists(snap)) {
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(snap), 1 << 16))) {
+                if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                    throw new IOException("Not a snapshot file: " + snap);
+                }
+                snapshotSeq = in.readLong();
+                login = (Login) new ObjectInputStream(in).readObject();
+            } catch (InvalidClassException | ClassNotFoundException ex) {
+                unreadable = ex.toString();
+            }
+        }
+        if (unreadable != null) {
+            // keep it (the next snapshot would overwrite it) and start from the journal
+            Path aside = dir.resolve(SNAPSHOT_UNREADABLE);
+            Files.move(snap, aside, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("The snapshot was written by an incompatible version of the model ("
+                    + unreadable + "). It was moved to " + aside + " and only the journal will be"
+                    + " replayed; anything saved only in that snapshot is missing.");
+            login = null;
+            snapshotSeq = 0;
+        }
+        if (login == null) {
+            login = new Login();
+        }
+        rebuildIndexes(login);
+
+        Replay replay = new Replay(login);
+        long last = snapshotSeq;
+        int replayed = 0;
+        for (Path seg : listSegments(dir)) {
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(seg), 1 << 16))) {
+                JournalEntry e;
+                while ((e = readFrame(in, seg)) != null) {
+                    if (e.getSeq() <= last) continue;   // already in the snapshot
+                    replay.apply(e);
+                    last = e.getSeq();
+                    replayed++;
+                }
+            }
+        }
+
+        PersistenceEngine engine = new PersistenceEngine(dir, login, last);
+        engine.openSegment(last + 1);
+        engine.writer.start();
+        active = engine;
+
+        System.out.println("Loaded data from " + dir + " (snapshot @" + snapshotSeq
+                + ", replayed " + replayed + " journal entries) in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return engine;
+    }
+
+    public Login getLogin() {
+        return login;
+    }
+
+    /** Registries are not serialized; rebuild them from the loaded graph. */
+    static void rebuildIndexes(Login login) {
+        EventRegistry registry = EventRegistry.getInstance();
+        VisitorDirectory directory = VisitorDirectory.getInstance();
+        registry.clear();
+        directory.clear();
+        for (Person p : login.getAllPeople()) {
+            if (p instanceof Agent) {
+                for (Event e : ((Agent) p).getEvents()) {
+                    IdAllocator.getInstance().observe(e.getId());
+                    registry.register(e);
+                    directory.indexEvent(e);
+                }
+            }
+        }
+    }
+
+    // ======================================================
+    // Snapshots
+    // ======================================================
+
+    /**
+     * Write a full snapshot and drop journal segments it makes redundant.
+     * Call this on the thread that owns the model (the EDT in the GUI).
+     * Events lock their own RSVP and check-in state while they are written,
+     * but bulk changes from other threads (InviteeImporter) should go
+     * through that thread too, or the journal cut-off won't match.
+     */
+    public synchronized void snapshot() throws IOException {
+        long seq;
+        synchronized (seqLock) {
+            seq = lastSeq;
+            rollRequested = true; // next batch starts a fresh segment
+        }
+
+        Path tmp = dir.resolve(SNAPSHOT_TMP);
+        try (FileOutputStream fos = new FileOutputStream(tmp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos, 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(seq);
+            ObjectOutputStream oos = new ObjectOutputStream(out);
+            oos.writeObject(login);
+            oos.flush();
+            out.flush();
+            fos.getFD().sync();
+        }
+        Files.move(tmp, dir.resolve(SNAPSHOT),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        deleteSegmentsCoveredBy(seq);
+    }
+
+    /**
+     * Snapshot every periodMinutes. The snapshot itself runs on modelThread
+     * (e.g. SwingUtilities::invokeLater for the GUI, Runnable::run headless).
+     */
+    public synchronized void startPeriodicSnapshots(long periodMinutes, Executor modelThread) {
+        if (snapshotTimer != null) return;
+        snapshotTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "snapshot-timer");
+            t.setDaemon(true);
+            return t;
+        });
+        snapshotTimer.scheduleAtFixedRate(() -> modelThread.execute(() -> {
+            try {
+                snapshot();
+            } catch (IOException | RuntimeException ex) {
+                // anything escaping here would cancel every later snapshot
+                System.out.println("Snapshot failed: " + ex);
+            }
+        }), periodMinutes, periodMinutes, TimeUnit.MINUTES);
+    }
+
+    // ======================================================
+    // Durability / shutdown
+    // ======================================================
+
+    /**
+     * Block until everything recorded so far is on disk. Returns false if
+     * it never will be (the journal stopped on a write error).
+     */
+    public boolean flush() {
+        long target;
+        synchronized (seqLock) {
+            target = lastSeq;
+        }
+        synchronized (durableLock) {
+            while (durableSeq < target && writer.isAlive()) {
+                try {
+                    durableLock.wait(100);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return durableSeq >= target;
+        }
+    }
+
+    /** Why the journal stopped, or null while it is healthy. */
+    public IOException getFailure() {
+        return failure;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        if (snapshotTimer != null) {
+            snapshotTimer.shutdownNow();
+        }
+        if (!flush()) {
+            System.out.println("Some changes were not saved: "
+                    + (failure != null ? failure.getMessage() : "journal writer stopped"));
+        }
+        if (active == this) {
+            active = null;
+        }
+        running = false;
+        try {
+            writer.join(5000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ======================================================
+    // Journal writer (group commit)
+    // ======================================================
+
+    private void writeLoop() {
+        List<JournalEntry> batch = new ArrayList<>();
+        ByteArrayOutputStream frames = new ByteArrayOutputStream(1 << 16);
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(256);
+        DataOutputStream payloadOut = new DataOutputStream(payload);
+        DataOutputStream framesOut = new DataOutputStream(frames);
+        CRC32 crc = new CRC32();
+
+        while (running || !queue.isEmpty()) {
+            try {
+                JournalEntry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                // everything that queued up during the last fsync goes in this batch
+                batch.clear();
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+
+                boolean roll = rollRequested;
+                rollRequested = false;
+
+                frames.reset();
+                for (JournalEntry e : batch) {
+                    payload.reset();
+                    e.writeTo(payloadOut);
+                    payloadOut.flush();
+                    crc.reset();
+                    crc.update(payload.toByteArray(), 0, payload.size());
+
+                    framesOut.writeInt(payload.size());
+                    payload.writeTo(framesOut);
+                    framesOut.writeInt((int) crc.getValue());
+                }
+                framesOut.flush();
+
+                if (!writeBatch(frames.toByteArray(), first.getSeq(), roll)) {
+                    stop();
+                    break;
+                }
+                markDurable(batch.get(batch.size() - 1).getSeq());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException ex) {
+                failure = ex;
+                stop();
+                break;
+            }
+        }
+
+        try {
+            if (segment != null) segment.close();
+        } catch (IOException ex) {
+            // nothing useful left to do at shutdown
+        }
+    }
+
+    /**
+     * Append one batch and fsync it. If that fails, the segment is cut back
+     * to the end of the last good batch (so no torn frame is left for replay
+     * to stop at) and the write retried; after that the batch goes to a new
+     * segment. Returns false, with failure set, if none of it worked.
+     */
+    private boolean writeBatch(byte[] bytes, long firstSeq, boolean roll) {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            try {
+                if (attempt == 0) {
+                    if (roll) openSegment(firstSeq);
+                } else if (attempt == 1 && segment != null && segment.isOpen()) {
+                    segment.truncate(segmentEnd);
+                    segment.position(segmentEnd);
+                } else {
+                    openSegment(firstSeq);
+                }
+                ByteBuffer buf = ByteBuffer.wrap(bytes);
+                while (buf.hasRemaining()) {
+                    segment.write(buf);
+                }
+                segment.force(false);
+                segmentEnd = segment.position();
+                return true;
+            } catch (IOException ex) {
+                System.out.println("Journal write failed (attempt " + (attempt + 1) + " of 3): " + ex.getMessage());
+                failure = ex;
+            }
+        }
+        return false;
+    }
+
+    // writer thread gave up: stop taking entries so nobody thinks they are saved
+    private void stop() {
+        running = false;
+        if (active == this) {
+            active = null;
+        }
+        System.out.println("Journal stopped; changes from now on are NOT being saved to " + dir
+                + " (" + (failure != null ? failure.getMessage() : "unknown error") + ")");
+        synchronized (durableLock) {
+            durableLock.notifyAll();
+        }
+    }
+
+    private void markDurable(long seq) {
+        synchronized (durableLock) {
+            durableSeq = seq;
+            durableLock.notifyAll();
+        }
+    }
+
+    private void openSegment(long firstSeq) throws IOException {
+        if (segment != null) {
+            try {
+                segment.close();
+            } catch (IOException ex) {
+                // everything in it was forced already; the new segment is what matters
+            }
+        }
+        // a segment with this name can only exist if none of its entries were
+        // readable (otherwise replay would have moved firstSeq past it)
+        segment = FileChannel.open(dir.resolve(segmentName(firstSeq)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        segmentEnd = 0;
+    }
+
+    private void deleteSegmentsCoveredBy(long snapshotSeq) throws IOException {
+        List<Path> segs = listSegments(dir);
+        // segment i only holds seqs below segment i+1's first seq
+        for (int i = 0; i + 1 < segs.size(); i++) {
+            if (firstSeqOf(segs.get(i + 1)) - 1 <= snapshotSeq) {
+                Files.deleteIfExists(segs.get(i));
+            }
+        }
+    }
+
+    // ======================================================
+    // File helpers
+    // ======================================================
+
+    private static String segmentName(long firstSeq) {
+        return String.format(Locale.ROOT, "%s%020d%s", SEGMENT_PREFIX, firstSeq, SEGMENT_SUFFIX);
+    }
+
+    private static long firstSeqOf(Path seg) {
+        String name = seg.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static List<Path> listSegments(Path dir) throws IOException {
+        List<Path> segs = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path p : ds) {
+                segs.add(p);
+            }
+        }
+        segs.sort((a, b) -> Long.compare(firstSeqOf(a), firstSeqOf(b)));
+        return segs;
+    }
+
+    /** Next entry, or null at end of file / at a torn or corrupt tail. */
+    private static JournalEntry readFrame(DataInputStream in, Path seg) throws IOException {
+        try {
+            int len = in.readInt();
+            if (len <= 0 || len > (64 << 20)) {
+                System.out.println("Ignoring corrupt tail of " + seg.getFileName());
+                return null;
+            }
+            byte[] payload = new byte[len];
+            in.readFully(payload);
+            int expected = in.readInt();
+
+            CRC32 crc = new CRC32();
+            crc.update(payload, 0, len);
+            if ((int) crc.getValue() != expected) {
+                System.out.println("Ignoring corrupt tail of " + seg.getFileName());
+                return null;
+            }
+            return JournalEntry.readFrom(new DataInputStream(new ByteArrayInputStream(payload)));
+        } catch (EOFException ex) {
+            return null; // clean end, or a write that never finished
+        }
+    }
+
+    // ======================================================
+    // Replay
+    // ======================================================
+
+    /** Applies journal entries to a graph, finding objects by their natural keys. */
+    private static class Replay {
+        private final Login login;
+        private final Map<String, Agent> agents = new HashMap<>();
+        private final Map<String, House> houses = new HashMap<>();
+        private final Map<String, Event> events = new HashMap<>();
+        private final VisitorDirectory visitors = VisitorDirectory.getInstance();
+
+        Replay(Login login) {
+            this.login = login;
+            for (Person p : login.getAllPeople()) {
+                if (p instanceof Agent) {
+                    index((Agent) p);
+                }
+            }
+        }
+
+        private void index(Agent agent) {
+            agents.put(agent.getName(), agent);
+            for (House h : agent.getProperties()) {
+                houses.putIfAbsent(h.getAddress(), h);
+            }
+            for (Event e : agent.getEvents()) {
+                events.put(e.getJournalKey(), e);
+                if (e.getHouse() != null) {
+                    houses.putIfAbsent(e.getHouse().getAddress(), e.getHouse());
+                }
+                visitors.indexEvent(e);
+            }
+        }
+
+        void apply(JournalEntry e) throws IOException {
+            switch (e.getType()) {
+                case ADD_PERSON: {
+                    Agent agent = new Agent(e.field(0), e.field(1), e.field(2), e.field(0), null);
+                    if (login.restorePerson(agent, e.field(3), e.field(4), e.field(5))) index(agent);
+                    break;
+                }
+                case ADD_PROPERTY: {
+                    Agent agent = agents.get(e.field(0));
+                    House house = houses.get(e.field(1));
+                    if (house == null) {
+                        house = new House(e.field(1), parseInt(e.field(2)), parseInt(e.field(3)),
+                                parseInt(e.field(4)), parseInt(e.field(5)), parseInt(e.field(6)), e.field(7));
+                        for (int i = 8; i < e.fieldCount(); i++) {
+                            house.addImagePath(e.field(i));
+                        }
+                        houses.put(house.getAddress(), house);
+                    }
+                    if (agent != null) agent.addProperty(house);
+                    break;
+                }
+                case ADD_IMAGE: {
+                    House house = houses.get(e.field(0));
+                    if (house != null) house.addImagePath(e.field(1));
+                    break;
+                }
+                case SET_FOR_SALE: {
+                    House house = houses.get(e.field(0));
+                    if (house != null) house.setStillForSale(Boolean.parseBoolean(e.field(1)));
+                    break;
+                }
+                case CREATE_EVENT: {
+                    Agent agent = agents.get(e.field(0));
+                    House house = houses.get(e.field(1));
+                    if (agent == null || house == null) break;
+                    long id = Long.parseLong(e.field(6));
+                    IdAllocator.getInstance().observe(id);
+                    Event ev = agent.createEvent(house, LocalDateTime.parse(e.field(2)),
+                            parseInt(e.field(5)), parseInt(e.field(3)), parseInt(e.field(4)), id);
+                    if (ev != null) events.put(ev.getJournalKey(), ev);
+                    break;
+                }
+                case SCHEDULE: {
+                    Event ev = events.get(e.field(0));
+                    if (ev != null) ev.schedule();
+                    break;
+                }
+                case ACTIVATE: {
+                    Event ev = events.get(e.field(0));
+                    if (ev != null) ev.activate();
+                    break;
+                }
+                case CLOSE: {
+                    Event ev = events.get(e.field(0));
+                    if (ev != null) ev.close();
+                    break;
+                }
+                case ADD_INVITEE: {
+                    Event ev = events.get(e.field(0));
+                    if (ev != null) ev.addInvitee(visitors.resolve(e.field(1), e.field(2), e.field(3)));
+                    break;
+                }
+                case ADD_INVITEES: {
+                    Event ev = events.get(e.field(0));
+                    if (ev == null) break;
+                    List<Visitor> batch = new ArrayList<>((e.fieldCount() - 1) / 3);
+                    for (int i = 1; i + 2 < e.fieldCount(); i += 3) {
+                        batch.add(visitors.resolve(e.field(i), e.field(i + 1), e.field(i + 2)));
+                    }
+                    ev.addInvitees(batch);
+                    break;
+                }
+                case SET_RSVP: {
+                    Event ev = events.get(e.field(0));
+                    if (ev != null) {
+                        ev.setRsvp(visitors.resolve(e.field(1), e.field(2), e.field(3)), RSVPStatus.valueOf(e.field(4)));
+                    }
+                    break;
+                }
+                case REMOVE_RSVP: {
+                    Event ev = events.get(e.field(0));
+                    if (ev != null) ev.removeRsvp(visitors.resolve(e.field(1), e.field(2), e.field(3)));
+                    break;
+                }
+                case ADD_VISITOR: {
+                    Event ev = events.get(e.field(0));
+                    if (ev == null) break;
+                    Visitor v = visitors.resolve(e.field(1), e.field(2), e.field(3));
+                    v.setMailingListConsent(Boolean.parseBoolean(e.field(4)));
+                    ev.checkIn(v, LocalDateTime.parse(e.field(5)));
+                    break;
+                }
+                case RESCHEDULE: {
+                    Event ev = events.get(e.field(0));
+                    if (ev != null) ev.reschedule(LocalDateTime.parse(e.field(1)));
+                    break;
+                }
+                case REMINDER_SENT: {
+                    Event ev = events.get(e.field(0));
+                    if (ev != null) ev.markRemindersSent(parseInt(e.field(1)));
+                    break;
+                }
+                default:
+                    break;
+            }
+        }
+
+        private static int parseInt(String s) {
+            try {
+                return Integer.parseInt(s);
+            } catch (NumberFormatException ex) {
+                return 0;
+            }
+        }
+    }
+}
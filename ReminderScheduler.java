@@ -0,0 +1,362 @@
+package org.finalproject.system;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Sends RSVP reminders automatically at fixed offsets before each event
+ * (48h and 2h by default, or -Dopenhouse.reminders=48h,2h,30m).
+ *
+ * Pending reminders live in a hashed timer wheel: a ring of buckets, one
+ * per tick (a minute by default), each a doubly linked list of timers. A
+ * timer lands in bucket (deadline tick mod wheel size); each tick only its
+ * own bucket is looked at, and timers a lap or more ahead stay put. Each
+ * event has at most one timer, for its next offset, found through a
+ * LongHashMap by event id, so arming, cancelling and moving a timer on
+ * reschedule are all O(1) no matter how many are pending.
+ *
+ * Nothing about the wheel is saved. Which offsets have been sent is kept on
+ * the Event (and journaled), so after a restart start() re-arms every open
+ * event from the registry and nothing goes out twice. A reminder whose time
+ * passed while the app was down goes out on the first tick, unless a later
+ * offset is due too, in which case only the later one is sent.
+ *
+ * Due reminders are gathered per tick, built with Agent.prepareReminderEmails
+ * on the model thread and handed to MessagingService as one batch.
+ */
+public class ReminderScheduler implements ModelListener {
+
+    public static final List<Duration> DEFAULT_OFFSETS =
+            Arrays.asList(Duration.ofHours(48), Duration.ofHours(2));
+
+    public static final String DEFAULT_SUBJECT = "Reminder: open house at {event}";
+    public static final String DEFAULT_BODY =
+            "Hi {name},\n\nJust a reminder about the open house at {event} on {date} at {time}."
+            + "\nLet us know if you can make it!";
+
+    private static final int DEFAULT_WHEEL_SIZE = 1024;   // ~17 hours per lap at one-minute ticks
+    private static final int MAX_OFFSETS = 31;            // one bit each in Event.remindersSent
+
+    /** One pending reminder: the next unsent offset of one event. */
+    private static final class Timer {
+        final Event event;
+        long deadlineTick;
+        int bucket = -1;       // -1 while not in the wheel
+        Timer prev;
+        Timer next;
+
+        Timer(Event event) {
+            this.event = event;
+        }
+    }
+
+    private final long[] offsetMillis;          // farthest first
+    private final MessagingService messaging;
+    private final long tickMillis;
+    private final long originMillis;
+    private final Timer[] wheel;
+    private final int mask;
+    private final LongHashMap<Timer> byEvent = new LongHashMap<>();
+
+    private String subject = DEFAULT_SUBJECT;
+    private String bodyTemplate = DEFAULT_BODY;
+
+    private long currentTick;                   // next tick to process
+    private int pending;
+    private long sent;
+
+    private ScheduledExecutorService ticker;
+    private Executor modelThread = Runnable::run;
+
+    public ReminderScheduler(MessagingService messaging) {
+        this(offsetsFromProperty(), messaging);
+    }
+
+    public ReminderScheduler(List<Duration> offsets, MessagingService messaging) {
+        this(offsets, messaging, Duration.ofMinutes(1), DEFAULT_WHEEL_SIZE, System.currentTimeMillis());
+    }
+
+    /** wheelSize is rounded up to a power of two; nowMillis is where the wheel's clock starts. */
+    ReminderScheduler(List<Duration> offsets, MessagingService messaging,
+                      Duration tick, int wheelSize, long nowMillis) {
+        if (offsets.isEmpty() || offsets.size() > MAX_OFFSETS) {
+            throw new IllegalArgumentException("need 1.." + MAX_OFFSETS + " reminder offsets: " + offsets);
+        }
+        this.offsetMillis = offsets.stream().mapToLong(Duration::toMillis)
+                .map(m -> -m).sorted().map(m -> -m).toArray();
+        this.messaging = messaging;
+        this.tickMillis = Math.max(1, tick.toMillis());
+        this.originMillis = nowMillis;
+        int size = Integer.highestOneBit(Math.max(2, wheelSize) * 2 - 1);
+        this.wheel = new Timer[size];
+        this.mask = size - 1;
+    }
+
+    /** Parses -Dopenhouse.reminders, e.g. "48h,2h,30m"; the defaults if unset or nothing in it parses. */
+    static List<Duration> offsetsFromProperty() {
+        String spec = System.getProperty("openhouse.reminders");
+        if (spec == null || spec.trim().isEmpty()) return DEFAULT_OFFSETS;
+        List<Duration> offsets = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String p = part.trim().toLowerCase(Locale.ROOT);
+            if (p.isEmpty()) continue;
+            long n;
+            try {
+                n = Long.parseLong(p.substring(0, p.length() - 1));
+            } catch (NumberFormatException ex) {
+                System.out.println("Ignoring reminder offset " + part + " (not a number of d, h or m)");
+                continue;
+            }
+            switch (p.charAt(p.length() - 1)) {
+                case 'd': offsets.add(Duration.ofDays(n)); break;
+                case 'h': offsets.add(Duration.ofHours(n)); break;
+                case 'm': offsets.add(Duration.ofMinutes(n)); break;
+                default:
+                    System.out.println("Ignoring reminder offset " + part + " (use d, h or m)");
+            }
+        }
+        return offsets.isEmpty() ? DEFAULT_OFFSETS : offsets;
+    }
+
+    public void setTemplates(String subject, String bodyTemplate) {
+        this.subject = subject;
+        this.bodyTemplate = bodyTemplate;
+    }
+
+    // ======================================================
+    // Lifecycle
+    // ======================================================
+
+    /**
+     * Arm every open event in the registry, listen for changes and start
+     * ticking. Emails are built on modelThread (SwingUtilities::invokeLater
+     * for the GUI, Runnable::run headless).
+     */
+    public synchronized void start(Executor modelThread) {
+        if (ticker != null) return;
+        this.modelThread = modelThread;
+        armAll();
+        ModelEvents.getInstance().addListener(this);
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "reminder-wheel");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleAtFixedRate(() -> advanceTo(System.currentTimeMillis()),
+                tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        ModelEvents.getInstance().removeListener(this);
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    /** Arm timers for every scheduled or active event (start() does this). */
+    public void armAll() {
+        EventRegistry registry = EventRegistry.getInstance();
+        for (Event e : registry.getEvents(EventState.SCHEDULED)) arm(e);
+        for (Event e : registry.getEvents(EventState.ACTIVE)) arm(e);
+    }
+
+    // ======================================================
+    // Model notifications
+    // ======================================================
+
+    @Override
+    public void eventAdded(Event event) {
+        arm(event);
+    }
+
+    @Override
+    public void eventStateChanged(Event event) {
+        if (event.isClosed()) {
+            cancel(event);
+        } else {
+            arm(event);
+        }
+    }
+
+    @Override
+    public void eventRescheduled(Event event, LocalDateTime oldStart) {
+        arm(event);
+    }
+
+    // ======================================================
+    // Wheel
+    // ======================================================
+
+    /** (Re)place the event's timer for its next unsent reminder, or drop it if none is left. */
+    public synchronized void arm(Event event) {
+        if (event == null || event.getId() == 0) return;
+        Timer timer = byEvent.get(event.getId());
+        int next = event.isClosed() ? -1 : nextOffset(event, clockMillis());
+        if (next < 0) {
+            if (timer != null) {
+                unlink(timer);
+                byEvent.remove(event.getId());
+            }
+            return;
+        }
+        if (timer == null) {
+            timer = new Timer(event);
+            byEvent.put(event.getId(), timer);
+        } else {
+            unlink(timer);
+        }
+        timer.deadlineTick = Math.max(currentTick, tickOf(deadline(event, next)));
+        link(timer);
+    }
+
+    public synchronized void cancel(Event event) {
+        if (event == null) return;
+        Timer timer = byEvent.remove(event.getId());
+        if (timer != null) unlink(timer);
+    }
+
+    /** Number of events with a reminder still to send. */
+    public synchronized int getPendingCount() {
+        return pending;
+    }
+
+    /** Reminder emails handed to MessagingService so far. */
+    public synchronized long getSentCount() {
+        return sent;
+    }
+
+    /**
+     * Run every tick up to nowMillis and send what came due. The ticker
+     * calls this every tick; headless drivers can call it with their own
+     * clock. Returns how many events had a reminder due.
+     */
+    public int advanceTo(long nowMillis) {
+        List<Timer> due = new ArrayList<>();
+        synchronized (this) {
+            long target = Math.floorDiv(nowMillis - originMillis, tickMillis);
+            if (target < currentTick) return 0;
+            // after a long gap one lap covers every bucket
+            long steps = Math.min(target - currentTick + 1, wheel.length);
+            for (long t = currentTick; t < currentTick + steps; t++) {
+                int b = (int) (t & mask);
+                Timer timer = wheel[b];
+                while (timer != null) {
+                    Timer next = timer.next;
+                    if (timer.deadlineTick <= target) {
+                        unlink(timer);
+                        due.add(timer);
+                    }
+                    timer = next;
+                }
+            }
+            currentTick = target + 1;
+        }
+        if (!due.isEmpty()) {
+            modelThread.execute(() -> send(due, nowMillis));
+        }
+        return due.size();
+    }
+
+    // builds and hands off one batch, then re-arms each event for its next offset
+    private void send(List<Timer> due, long nowMillis) {
+        ArrayList<Email> batch = new ArrayList<>();
+        List<Event> fired = new ArrayList<>(due.size());
+        int[] firedOffsets = new int[due.size()];
+        for (Timer timer : due) {
+            Event event = timer.event;
+            if (event.isClosed() || event.getAgent() == null) continue;
+            // rescheduled or already sent since the timer was set: arm() below sorts it out
+            int offset = nextOffset(event, nowMillis);
+            if (offset < 0 || deadline(event, offset) > nowMillis) continue;
+            batch.addAll(event.getAgent().prepareReminderEmails(event, subject, bodyTemplate));
+            firedOffsets[fired.size()] = offset;
+            fired.add(event);
+        }
+        if (!batch.isEmpty()) {
+            messaging.enqueueEmails(batch);
+            messaging.sendAll();
+        }
+        for (int i = 0; i < fired.size(); i++) {
+            // this offset, and any farther ones it superseded
+            fired.get(i).markRemindersSent((1 << (firedOffsets[i] + 1)) - 1);
+        }
+        synchronized (this) {
+            sent += batch.size();
+        }
+        for (Timer timer : due) {
+            arm(timer.event);
+        }
+    }
+
+    /**
+     * The offset to send next: the nearest one that is already due if any
+     * are (earlier ones are superseded), else the next one coming up.
+     * -1 if all are sent or the event has started.
+     */
+    private int nextOffset(Event event, long nowMillis) {
+        long start = epochMillis(event.getStartTime());
+        if (start <= nowMillis) return -1;
+        int sentMask = event.getRemindersSent();
+        int next = -1;
+        for (int i = 0; i < offsetMillis.length; i++) {
+            if ((sentMask & (1 << i)) != 0) continue;
+            if (start - offsetMillis[i] <= nowMillis) {
+                next = i;
+            } else {
+                return next >= 0 ? next : i;
+            }
+        }
+        return next;
+    }
+
+    private long deadline(Event event, int offset) {
+        return epochMillis(event.getStartTime()) - offsetMillis[offset];
+    }
+
+    private long tickOf(long millis) {
+        return Math.floorDiv(millis - originMillis, tickMillis);
+    }
+
+    // the wheel's notion of now: the start of the next tick to run
+    private long clockMillis() {
+        return originMillis + currentTick * tickMillis;
+    }
+
+    private static long epochMillis(LocalDateTime t) {
+        return t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private void link(Timer timer) {
+        int b = (int) (timer.deadlineTick & mask);
+        timer.bucket = b;
+        timer.prev = null;
+        timer.next = wheel[b];
+        if (wheel[b] != null) wheel[b].prev = timer;
+        wheel[b] = timer;
+        pending++;
+    }
+
+    private void unlink(Timer timer) {
+        if (timer.bucket < 0) return;
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            wheel[timer.bucket] = timer.next;
+        }
+        if (timer.next != null) timer.next.prev = timer.prev;
+        timer.prev = null;
+        timer.next = null;
+        timer.bucket = -1;
+        pending--;
+    }
+}
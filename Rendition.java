@@ -0,0 +1,28 @@
+package org.finalproject.system;
+
+/*
+ * The sizes PhotoLoader keeps of every house photo. Each is a bounding
+ * box: the photo is scaled to fit inside it, keeping its aspect ratio,
+ * and is never scaled up.
+ */
+public enum Rendition {
+    THUMBNAIL(120, 75),
+    DISPLAY(420, 260),   // the kiosk browser's photo box
+    FULL(1600, 1000);
+
+    private final int maxWidth;
+    private final int maxHeight;
+
+    Rendition(int maxWidth, int maxHeight) {
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+    }
+
+    public int getMaxWidth() {
+        return maxWidth;
+    }
+
+    public int getMaxHeight() {
+        return maxHeight;
+    }
+}
@@ -0,0 +1,66 @@
+package org.finalproject.system;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * The model objects behind the rows of a list, in row order, with an
+ * identity map from object to row.
+ *
+ * Panels keep one of these next to each BulkListModel so a ModelListener
+ * callback can find the row for an Event or Visitor in O(1) instead of
+ * scanning the list with indexOf/contains. Objects are matched by
+ * identity, as the model hands out canonical instances. Appending is
+ * O(1); removing a row renumbers the rows after it.
+ *
+ * Like the list models it sits next to, use it on the EDT only.
+ */
+public class RowIndex<T> {
+
+    private final List<T> rows = new ArrayList<>();
+    private final Map<T, Integer> rowOf = new IdentityHashMap<>();
+
+    public int size() {
+        return rows.size();
+    }
+
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
+    public T get(int row) {
+        return rows.get(row);
+    }
+
+    /** The row showing item, or -1. */
+    public int indexOf(T item) {
+        Integer row = rowOf.get(item);
+        return row != null ? row : -1;
+    }
+
+    public boolean contains(T item) {
+        return rowOf.containsKey(item);
+    }
+
+    /** Appends item as the last row; an item already listed keeps its first row. */
+    public void add(T item) {
+        rowOf.putIfAbsent(item, rows.size());
+        rows.add(item);
+    }
+
+    public T remove(int row) {
+        T removed = rows.remove(row);
+        rowOf.remove(removed, row);
+        for (int i = row; i < rows.size(); i++) {
+            rowOf.replace(rows.get(i), i + 1, i);
+        }
+        return removed;
+    }
+
+    public void clear() {
+        rows.clear();
+        rowOf.clear();
+    }
+}
@@ -0,0 +1,56 @@
+package org.finalproject.system;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/*
+ * Point-in-time RSVP numbers for one event.
+ * Built by Event.getRsvpSummary(); formatting is left to whoever shows it.
+ */
+public class RsvpSummary {
+
+    private final String eventId;
+    private final String address;
+    private final String date;
+    private final int capacity;
+    private final Map<RSVPStatus, Integer> counts;
+    private final int totalInvites;
+
+    RsvpSummary(String eventId, String address, String date, int capacity,
+                Map<RSVPStatus, Integer> counts, int totalInvites) {
+        this.eventId = eventId;
+        this.address = address;
+        this.date = date;
+        this.capacity = capacity;
+        this.counts = new EnumMap<>(counts);
+        this.totalInvites = totalInvites;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getCount(RSVPStatus status) {
+        return counts.getOrDefault(status, 0);
+    }
+
+    public int getTotalInvites() {
+        return totalInvites;
+    }
+
+    public boolean isOverbooked() {
+        return getCount(RSVPStatus.YES) > capacity;
+    }
+}
@@ -0,0 +1,115 @@
+package org.finalproject.system;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Time-ordered index of non-overlapping events (one per agent, one per house).
+ *
+ * Because nothing in the index overlaps, an overlap check only has to look
+ * at the event starting at-or-before the new start and the first one
+ * starting after it: two O(log n) TreeMap lookups.
+ * Back-to-back events (one ends exactly when the next starts) are allowed.
+ */
+public class ScheduleIndex implements Serializable {
+
+    private static final long serialVersionUID = 7124295049755548694L;
+
+    private final TreeMap<LocalDateTime, Event> byStart = new TreeMap<>();
+
+    /** A gap in the schedule. */
+    public static class Slot {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        public Slot(LocalDateTime start, LocalDateTime end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public LocalDateTime getEnd() {
+            return end;
+        }
+
+        @Override
+        public String toString() {
+            return start + " - " + end;
+        }
+    }
+
+    /** The event overlapping [start, end), or null if the slot is free. */
+    public synchronized Event findConflict(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) return null;
+
+        Map.Entry<LocalDateTime, Event> before = byStart.floorEntry(start);
+        if (before != null && before.getValue().getEndTime().isAfter(start)) {
+            return before.getValue();
+        }
+        Map.Entry<LocalDateTime, Event> after = byStart.higherEntry(start);
+        if (after != null && after.getKey().isBefore(end)) {
+            return after.getValue();
+        }
+        return null;
+    }
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return findConflict(start, end) != null;
+    }
+
+    /** Add event if its slot is free. Returns false on overlap (or if it's already here). */
+    public synchronized boolean add(Event event) {
+        if (event == null || event.getStartTime() == null) return false;
+        if (findConflict(event.getStartTime(), event.getEndTime()) != null) {
+            return false;
+        }
+        byStart.put(event.getStartTime(), event);
+        return true;
+    }
+
+    public synchronized boolean remove(Event event) {
+        if (event == null || event.getStartTime() == null) return false;
+        return byStart.remove(event.getStartTime(), event);
+    }
+
+    public synchronized boolean contains(Event event) {
+        return event != null && event.getStartTime() != null
+                && byStart.get(event.getStartTime()) == event;
+    }
+
+    /** Free gaps between from and to, in order. O(log n + events in the range). */
+    public synchronized List<Slot> freeSlots(LocalDateTime from, LocalDateTime to) {
+        List<Slot> free = new ArrayList<>();
+        if (from == null || to == null || !from.isBefore(to)) return free;
+
+        LocalDateTime cursor = from;
+        Map.Entry<LocalDateTime, Event> before = byStart.lowerEntry(from);
+        if (before != null && before.getValue().getEndTime().isAfter(cursor)) {
+            cursor = before.getValue().getEndTime();
+        }
+
+        for (Event e : byStart.subMap(from, true, to, false).values()) {
+            if (e.getStartTime().isAfter(cursor)) {
+                free.add(new Slot(cursor, e.getStartTime()));
+            }
+            if (e.getEndTime().isAfter(cursor)) {
+                cursor = e.getEndTime();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new Slot(cursor, to));
+        }
+        return free;
+    }
+
+    public synchronized int size() {
+        return byStart.size();
+    }
+}
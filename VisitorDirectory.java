@@ -0,0 +1,176 @@
+package org.finalproject.system;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/*
+ * One Visitor object per real person, shared by every event they touch.
+ *
+ * The kiosk, addInvitee, journal replay and imports all go through
+ * resolve()/canonicalize() so the same email always maps to the same
+ * Visitor, and that Visitor's check-in history covers every open house
+ * they have been to. Lookups are O(1) by normalized email, with the
+ * digits of the phone number as a fallback when there is no email.
+ *
+ * Also keeps, per agent, the set of people who have checked in at one of
+ * their events, so the visitors screen doesn't have to walk every event.
+ *
+ * Not serialized; PersistenceEngine rebuilds it from the loaded graph.
+ */
+public class VisitorDirectory {
+
+    // shorter than this is an extension or junk, not something to match people on
+    private static final int MIN_PHONE_DIGITS = 7;
+
+    private static final VisitorDirectory INSTANCE = new VisitorDirectory();
+
+    private final Map<String, Visitor> byEmail = new ConcurrentHashMap<>();
+    private final Map<String, Visitor> byPhone = new ConcurrentHashMap<>();
+    private final Map<Agent, Set<Visitor>> byAgent = new IdentityHashMap<>();
+
+    private VisitorDirectory() {
+    }
+
+    public static VisitorDirectory getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * The Visitor for this email (or phone, if the email is blank), creating
+     * one if the person is new. Name and phone are only used when creating.
+     */
+    public Visitor resolve(String name, String email, String phone) {
+        String emailKey = Event.normalizeEmail(email);
+        if (emailKey.isEmpty()) {
+            Visitor byNumber = findByPhone(phone);
+            if (byNumber != null) return byNumber;
+            Visitor created = new Visitor(name, email, phone);
+            indexPhone(created);
+            return created;
+        }
+        // computeIfAbsent so two kiosks checking in the same new person agree
+        return byEmail.computeIfAbsent(emailKey, k -> {
+            Visitor created = new Visitor(name, email, phone);
+            indexPhone(created);
+            return created;
+        });
+    }
+
+    /**
+     * The directory's Visitor for the same person as v. If nobody with v's
+     * email is known yet, v itself becomes the canonical one.
+     */
+    public Visitor canonicalize(Visitor v) {
+        if (v == null) return null;
+        String emailKey = Event.normalizeEmail(v.getEmail());
+        if (emailKey.isEmpty()) {
+            Visitor byNumber = findByPhone(v.getPhone());
+            if (byNumber != null) return byNumber;
+            indexPhone(v);
+            return v;
+        }
+        Visitor existing = byEmail.putIfAbsent(emailKey, v);
+        if (existing != null) return existing;
+        indexPhone(v);
+        return v;
+    }
+
+    public Visitor findByEmail(String email) {
+        return byEmail.get(Event.normalizeEmail(email));
+    }
+
+    public Visitor findByPhone(String phone) {
+        String key = normalizePhone(phone);
+        return key.length() < MIN_PHONE_DIGITS ? null : byPhone.get(key);
+    }
+
+    /** Remember that v checked in at one of agent's events. */
+    public void recordVisit(Agent agent, Visitor v) {
+        if (agent == null || v == null) return;
+        synchronized (byAgent) {
+            byAgent.computeIfAbsent(agent, a -> new LinkedHashSet<>()).add(v);
+        }
+    }
+
+    /** Everyone who has checked in at one of this agent's events, first visit first. */
+    public List<Visitor> getVisitorsForAgent(Agent agent) {
+        synchronized (byAgent) {
+            Set<Visitor> vs = byAgent.get(agent);
+            return vs == null ? Collections.emptyList() : new ArrayList<>(vs);
+        }
+    }
+
+    /**
+     * Walks the directory without copying it: everyone, or with an agent,
+     * everyone who has checked in at one of that agent's events. Visitors
+     * added meanwhile may or may not be seen. The per-agent walk holds the
+     * directory lock that every check-in needs, so keep the action short
+     * and do no I/O in it (getVisitorsForAgent copies instead).
+     */
+    public void forEach(Agent agent, Consumer<Visitor> action) {
+        if (agent != null) {
+            synchronized (byAgent) {
+                Set<Visitor> vs = byAgent.get(agent);
+                if (vs != null) vs.forEach(action);
+            }
+            return;
+        }
+        byEmail.values().forEach(action);
+        // people known only by phone
+        for (Visitor v : byPhone.values()) {
+            if (Event.normalizeEmail(v.getEmail()).isEmpty()) action.accept(v);
+        }
+    }
+
+    /** Adds an existing event's invitees and visitors, e.g. after loading a snapshot. */
+    void indexEvent(Event e) {
+        for (Visitor v : e.getAllRsvps().keySet()) {
+            canonicalize(v);
+        }
+        for (Visitor v : e.getVisitors()) {
+            recordVisit(e.getAgent(), canonicalize(v));
+        }
+    }
+
+    public int size() {
+        return byEmail.size();
+    }
+
+    public void clear() {
+        byEmail.clear();
+        byPhone.clear();
+        synchronized (byAgent) {
+            byAgent.clear();
+        }
+    }
+
+    /** The digits people are matched on by phone, or "" if too few to trust. */
+    static String phoneKey(String phone) {
+        String digits = normalizePhone(phone);
+        return digits.length() < MIN_PHONE_DIGITS ? "" : digits;
+    }
+
+    static String normalizePhone(String phone) {
+        if (phone == null) return "";
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') digits.append(c);
+        }
+        return digits.toString();
+    }
+
+    private void indexPhone(Visitor v) {
+        String key = normalizePhone(v.getPhone());
+        if (key.length() >= MIN_PHONE_DIGITS) {
+            byPhone.putIfAbsent(key, v);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.finalproject.system;
+
+/*
+ * What one row of a visitor / invitee / recipient list shows.
+ *
+ * Built once when the row is added to the list model, so painting never
+ * goes back to the Visitor or concatenates strings. Placeholder rows like
+ * "(No visitors yet)" are rows with only a name.
+ */
+public final class VisitorRow {
+
+    private final String name;
+    private final String email;
+    private final String detail;
+
+    public VisitorRow(String name, String email, String detail) {
+        this.name = name == null ? "" : name;
+        this.email = email == null ? "" : email;
+        this.detail = detail == null ? "" : detail;
+    }
+
+    public static VisitorRow of(Visitor v) {
+        return new VisitorRow(v.getName(), v.getEmail(), "");
+    }
+
+    public static VisitorRow of(Visitor v, Object detail) {
+        return new VisitorRow(v.getName(), v.getEmail(), String.valueOf(detail));
+    }
+
+    public static VisitorRow placeholder(String text) {
+        return new VisitorRow(text, "", "");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    // used by JList's type-ahead and by accessibility
+    @Override
+    public String toString() {
+        return email.isEmpty() ? name : name + " <" + email + ">";
+    }
+}
@@ -0,0 +1,132 @@
+package org.finalproject.system;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+
+import javax.swing.JComponent;
+import javax.swing.JList;
+import javax.swing.ListCellRenderer;
+
+/*
+ * Paints VisitorRows directly: name, then email in grey, then the detail
+ * (RSVP status etc.) right-aligned.
+ *
+ * A DefaultListCellRenderer is a full JLabel that gets re-laid-out for
+ * every row, and without fixed cell metrics JList asks it for the size of
+ * every row in the model before it can paint anything. install() fixes the
+ * cell width and height, so the list only ever touches the rows in the
+ * viewport, and this renderer does no layout: fonts, metrics and colours
+ * are worked out once and reused for every cell.
+ */
+public class VisitorRowRenderer extends JComponent implements ListCellRenderer<VisitorRow> {
+
+    private static final int PAD_X = 6;
+    private static final int GAP = 8;
+    private static final Color EMAIL_COLOR = new Color(110, 110, 110);
+
+    private final Font nameFont;
+    private final Font emailFont;
+    private final FontMetrics nameMetrics;
+    private final int rowHeight;
+    private final int baseline;
+
+    // state for the cell currently being painted
+    private VisitorRow row;
+    private Color background;
+    private Color foreground;
+    private boolean selected;
+
+    public VisitorRowRenderer(JList<?> list) {
+        Font base = list.getFont();
+        nameFont = base.deriveFont(Font.PLAIN);
+        emailFont = base.deriveFont(Font.PLAIN, base.getSize2D() - 1f);
+        nameMetrics = list.getFontMetrics(nameFont);
+        rowHeight = nameMetrics.getHeight() + 6;
+        baseline = 3 + nameMetrics.getAscent();
+        setOpaque(true);
+    }
+
+    /** Puts the renderer on the list and fixes its cell metrics so rows are never measured. */
+    public static void install(JList<VisitorRow> list, int cellWidth) {
+        VisitorRowRenderer renderer = new VisitorRowRenderer(list);
+        list.setCellRenderer(renderer);
+        list.setFixedCellHeight(renderer.rowHeight);
+        list.setFixedCellWidth(cellWidth);
+    }
+
+    @Override
+    public Component getListCellRendererComponent(JList<? extends VisitorRow> list, VisitorRow value,
+                                                  int index, boolean isSelected, boolean cellHasFocus) {
+        this.row = value;
+        this.selected = isSelected;
+        this.background = isSelected ? list.getSelectionBackground() : list.getBackground();
+        this.foreground = isSelected ? list.getSelectionForeground() : list.getForeground();
+        return this;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(0, rowHeight);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        int w = getWidth();
+        g.setColor(background);
+        g.fillRect(0, 0, w, getHeight());
+        if (row == null) return;
+
+        ((Graphics2D) g).setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        // detail first, so name/email know how much room is left
+        int right = w - PAD_X;
+        String detail = row.getDetail();
+        if (!detail.isEmpty()) {
+            int dw = nameMetrics.stringWidth(detail);
+            g.setFont(nameFont);
+            g.setColor(foreground);
+            g.drawString(detail, right - dw, baseline);
+            right -= dw + GAP;
+        }
+
+        // anything past 'right' is clipped rather than measured and truncated
+        g.clipRect(0, 0, Math.max(0, right), getHeight());
+
+        int x = PAD_X;
+        g.setFont(nameFont);
+        g.setColor(foreground);
+        g.drawString(row.getName(), x, baseline);
+
+        String email = row.getEmail();
+        if (!email.isEmpty()) {
+            x += nameMetrics.stringWidth(row.getName()) + GAP;
+            g.setFont(emailFont);
+            g.setColor(selected ? foreground : EMAIL_COLOR);
+            g.drawString(email, x, baseline);
+        }
+    }
+
+    // JList paints each cell through a CellRendererPane; these are never
+    // needed for a stamp component and DefaultListCellRenderer skips them too
+    @Override
+    public void invalidate() { }
+
+    @Override
+    public void validate() { }
+
+    @Override
+    public void revalidate() { }
+
+    @Override
+    public void repaint(long tm, int x, int y, int width, int height) { }
+
+    @Override
+    protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) { }
+}
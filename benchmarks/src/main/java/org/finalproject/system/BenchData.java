@@ -0,0 +1,41 @@
+package org.finalproject.system;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/*
+ * Test data shared by the benchmarks: an agent with one house and one
+ * event, and n distinct visitors.
+ */
+final class BenchData {
+
+    static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 13, 0);
+
+    private BenchData() {
+    }
+
+    /** A fresh event with the given capacity; also turns off the model's status lines. */
+    static Event newEvent(int capacity) {
+        ModelMessages.setQuiet(true);
+        // visitors are canonicalized process-wide; don't let one setup see the last one's
+        VisitorDirectory.getInstance().clear();
+        Agent agent = new Agent("Bench Agent", "bench@example.com", "555-0000", "bench", "pw");
+        House house = new House("1 Benchmark Way", 500_000, 2000, 3, 2, 2000, "bench");
+        agent.addProperty(house);
+        return agent.createEvent(house, START, capacity, 1234);
+    }
+
+    static List<Visitor> visitors(int n) {
+        return generate(n, i -> new Visitor("Visitor " + i, "visitor" + i + "@example.com", "555-" + i));
+    }
+
+    static <T> List<T> generate(int n, IntFunction<T> make) {
+        List<T> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            list.add(make.apply(i));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,69 @@
+package org.finalproject.system;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * Building the thank-you and reminder emails for an event of `size`
+ * visitors. The score is per batch, so it should grow linearly with size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EmailBenchmarks {
+
+    @Param({ "1000", "10000", "100000" })
+    int size;
+
+    /** `size` checked-in visitors, all with mailing consent. */
+    Event visited;
+
+    /** `size` invitees, every other one MAYBE and the rest not answered. */
+    Event invited;
+
+    @Setup
+    public void setUp() {
+        visited = BenchData.newEvent(size);
+        visited.activate();
+        for (Visitor v : BenchData.visitors(size)) {
+            v.setMailingListConsent(true);
+            visited.addVisitor(v);
+        }
+
+        invited = BenchData.newEvent(Integer.MAX_VALUE);
+        int i = 0;
+        for (Visitor v : BenchData.visitors(size)) {
+            v.setMailingListConsent(true);
+            invited.addInvitee(v);
+            if ((i++ & 1) == 0) {
+                invited.setRsvp(v, RSVPStatus.MAYBE);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Email> prepareEmailsForEvent() {
+        return visited.getAgent().prepareEmailsForEvent(visited, "Thanks", "Hi {name}, thanks for visiting!");
+    }
+
+    @Benchmark
+    public List<Email> prepareReminderEmails() {
+        return invited.getAgent().prepareReminderEmails(invited, "Reminder",
+                "Hi {name}, see you at {event} on {date} at {time}.");
+    }
+}
@@ -0,0 +1,97 @@
+package org.finalproject.system;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * Event's RSVP and check-in paths at several sizes.
+ *
+ * bulkLoad and addVisitor fill an empty event with `size` visitors, so
+ * their score is per event: a linear path grows about 10x per 10x size,
+ * the old quadratic RSVP count grew about 100x. getRsvpCount is a single
+ * call and should stay flat.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBenchmarks {
+
+    private static final RSVPStatus[] MIX = { RSVPStatus.YES, RSVPStatus.MAYBE, RSVPStatus.NO, RSVPStatus.YES };
+
+    /** An empty event and `size` visitors not yet added to it, new for every call. */
+    @State(Scope.Thread)
+    public static class Empty {
+        @Param({ "1000", "10000", "100000" })
+        int size;
+
+        Event event;
+        List<Visitor> visitors;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            event = BenchData.newEvent(size);
+            event.activate();
+            visitors = BenchData.visitors(size);
+        }
+    }
+
+    /** An event with `size` invitees, all of them YES. */
+    @State(Scope.Thread)
+    public static class Loaded {
+        @Param({ "1000", "10000", "100000" })
+        int size;
+
+        Event event;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            event = BenchData.newEvent(Integer.MAX_VALUE);
+            for (Visitor v : BenchData.visitors(size)) {
+                event.addInvitee(v);
+                event.setRsvp(v, RSVPStatus.YES);
+            }
+        }
+    }
+
+    // invite + RSVP every visitor (was quadratic: every YES recounted the map)
+    @Benchmark
+    public Event bulkLoad(Empty s) {
+        Event event = s.event;
+        List<Visitor> visitors = s.visitors;
+        for (int i = 0; i < visitors.size(); i++) {
+            Visitor v = visitors.get(i);
+            event.addInvitee(v);
+            event.setRsvp(v, MIX[i & 3]);
+        }
+        return event;
+    }
+
+    @Benchmark
+    public int getRsvpCount(Loaded s) {
+        return s.event.getRsvpCount(MIX[s.next++ & 3]);
+    }
+
+    @Benchmark
+    public Event addVisitor(Empty s) {
+        for (Visitor v : s.visitors) {
+            s.event.addVisitor(v);
+        }
+        return s.event;
+    }
+}
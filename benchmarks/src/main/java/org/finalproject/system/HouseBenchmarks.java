@@ -0,0 +1,115 @@
+package org.finalproject.system;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * House lookups over `size` listings: one keystroke of search-as-you-type,
+ * and "3+ beds, under $700k, built after 2000" (first 100 hits) through
+ * HouseRangeIndex and, for comparison, by checking every house.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HouseBenchmarks {
+
+    // typed one key at a time
+    private static final String TYPED = "speedway pool";
+
+    @State(Scope.Thread)
+    public static class Search {
+        @Param({ "1000", "10000", "100000" })
+        int size;
+
+        int key;
+
+        @Setup
+        public void setUp() {
+            HouseSearchIndex index = HouseSearchIndex.getInstance();
+            index.clear();
+            String[] streets = { "Speedway", "Main", "Oak", "Maple", "Elm", "Sunset", "Ridge", "Lake", "Pine", "Cedar" };
+            String[] words = { "charming", "renovated", "kitchen", "pool", "garage", "spacious", "yard", "fireplace" };
+            Random rnd = new Random(42);
+            for (int i = 0; i < size; i++) {
+                String description = words[rnd.nextInt(words.length)] + " " + words[rnd.nextInt(words.length)]
+                        + " " + words[rnd.nextInt(words.length)];
+                index.add(new House((1 + rnd.nextInt(9999)) + " " + streets[rnd.nextInt(streets.length)] + " St",
+                        500_000, 2000, 3, 2, 2000, description));
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            HouseSearchIndex.getInstance().clear();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Range {
+        @Param({ "1000", "10000", "100000" })
+        int size;
+
+        List<House> houses;
+        HouseQuery query;
+
+        @Setup
+        public void setUp() {
+            HouseRangeIndex index = HouseRangeIndex.getInstance();
+            index.clear();
+            Random rnd = new Random(42);
+            houses = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                House h = new House(i + " Main St", 100_000 + rnd.nextInt(1_900_000), 600 + rnd.nextInt(5000),
+                        1 + rnd.nextInt(6), 1 + rnd.nextInt(4), 1900 + rnd.nextInt(125), "");
+                houses.add(h);
+                index.add(h);
+            }
+            query = new HouseQuery().atLeast(HouseQuery.Field.BEDS, 3)
+                    .below(HouseQuery.Field.PRICE, 700_000).above(HouseQuery.Field.YEAR_BUILT, 2000);
+            index.query(query, 100, null);   // sort the columns before measuring
+        }
+
+        @TearDown
+        public void tearDown() {
+            HouseRangeIndex.getInstance().clear();
+        }
+    }
+
+    @Benchmark
+    public int search(Search s) {
+        s.key = s.key % TYPED.length() + 1;
+        String prefix = TYPED.substring(0, s.key);
+        return HouseSearchIndex.getInstance().search(prefix, 200).size();
+    }
+
+    @Benchmark
+    public int rangeQuery(Range s) {
+        return HouseRangeIndex.getInstance().query(s.query, 100, null).size();
+    }
+
+    @Benchmark
+    public int rangeScan(Range s) {
+        int found = 0;
+        for (House h : s.houses) {
+            if (s.query.matches(h) && ++found == 100) break;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,80 @@
+package org.finalproject.system;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * Finding the events the kiosk can check visitors into, among `size`
+ * agents with one house and four events each (one of them active).
+ * graphWalk is what KioskPanel.refresh() used to do, kept for comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KioskBenchmarks {
+
+    @Param({ "1000", "10000", "100000" })
+    int size;
+
+    Login login;
+
+    @Setup
+    public void setUp() {
+        ModelMessages.setQuiet(true);
+        EventRegistry.getInstance().clear();
+        VisitorDirectory.getInstance().clear();
+        login = new Login(new CredentialStore(1));
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 10, 0);
+        for (int i = 0; i < size; i++) {
+            Agent a = new Agent("agent" + i, "a" + i + "@example.com", "555", "agent" + i, "pw");
+            login.addPerson(a);
+            House h = new House(i + " Bench St", 500_000, 2000, 3, 2, 2000, "bench");
+            a.addProperty(h);
+            for (int d = 0; d < 4; d++) {
+                Event e = a.createEvent(h, base.plusDays(d), 20, 1234);
+                if (d == 0) e.activate();
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Event> activeEvents() {
+        return EventRegistry.getInstance().getActiveEvents();
+    }
+
+    @Benchmark
+    public List<Event> graphWalk() {
+        List<Event> found = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Person p : login.getAllPeople()) {
+            if (!(p instanceof Agent)) continue;
+            for (House h : ((Agent) p).getProperties()) {
+                for (Event e : h.getEvents()) {
+                    if (e.isActive() && !e.isClosed() && seen.add(e.getEventId())) {
+                        found.add(e);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,53 @@
+package org.finalproject.system;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * One login against `size` accounts. The hash cost is fixed, so the score
+ * should not grow with size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LoginBenchmarks {
+
+    @Param({ "1000", "10000", "100000" })
+    int size;
+
+    Login login;
+    Random rnd;
+
+    @Setup
+    public void setUp() {
+        ModelMessages.setQuiet(true);
+        // cheap hash cost so setting up 100k accounts doesn't dominate the run
+        login = new Login(new CredentialStore(1_000));
+        for (int i = 0; i < size; i++) {
+            login.addPerson(new Agent("agent" + i, "agent" + i + "@example.com", "555-0000",
+                    "agent" + i, "pw" + i));
+        }
+        rnd = new Random(42);
+    }
+
+    @Benchmark
+    public Person login() {
+        int k = rnd.nextInt(size);
+        return login.login("agent" + k, "pw" + k);
+    }
+}
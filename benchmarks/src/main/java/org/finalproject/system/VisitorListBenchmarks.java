@@ -0,0 +1,72 @@
+package org.finalproject.system;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JList;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * Opening a `size`-row visitor list and scrolling through it. The score is
+ * per frame (the open counts as the first), so it should stay flat and well
+ * under 16ms as size grows. Paints off-screen, so it runs headless too.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class VisitorListBenchmarks {
+
+    private static final int FRAMES = 30;
+
+    @Param({ "1000", "10000", "100000" })
+    int size;
+
+    List<VisitorRow> rows;
+    BufferedImage frame;
+
+    @Setup
+    public void setUp() {
+        rows = BenchData.generate(size, i -> new VisitorRow("Visitor " + i, "visitor" + i + "@example.com", "YES"));
+        frame = new BufferedImage(300, 400, BufferedImage.TYPE_INT_RGB);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAMES)
+    public JList<VisitorRow> openAndScroll() {
+        BulkListModel<VisitorRow> model = new BulkListModel<>();
+        JList<VisitorRow> list = new JList<>(model);
+        VisitorRowRenderer.install(list, 240);
+        model.replaceAll(rows);
+        Dimension preferred = list.getPreferredSize(); // what the scroll pane asks for on open
+        list.setSize(300, preferred.height);
+
+        int maxY = Math.max(0, preferred.height - frame.getHeight());
+        for (int f = 0; f < FRAMES; f++) {
+            int y = (int) ((long) maxY * f / (FRAMES - 1));
+            Graphics2D g = frame.createGraphics();
+            g.translate(0, -y);
+            g.setClip(0, y, frame.getWidth(), frame.getHeight());
+            list.paint(g);
+            g.dispose();
+        }
+        return list;
+    }
+}
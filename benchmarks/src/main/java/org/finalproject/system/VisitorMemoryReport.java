@@ -0,0 +1,72 @@
+package org.finalproject.system;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Retained heap per visitor (each with a few check-ins) as Visitor objects
+ * vs. in a ColumnarVisitorStore; "x" is how many times smaller the store is.
+ *
+ * Not a JMH benchmark: it measures what stays on the heap, not time.
+ *
+ *   java -cp target/benchmarks.jar org.finalproject.system.VisitorMemoryReport [sizes]
+ */
+public class VisitorMemoryReport {
+
+    private static final int CHECK_INS_PER_VISITOR = 4;
+
+    private static volatile long sink;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0
+                ? Arrays.stream(args[0].split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray()
+                : new int[] { 1_000, 10_000, 100_000 };
+
+        System.out.println(String.format("%-16s %10s %14s %14s %8s",
+                "visitor.memory", "size", "objects B/v", "columnar B/v", "x"));
+        Event event = BenchData.newEvent(Integer.MAX_VALUE);
+        for (int n : sizes) {
+            long before = usedHeap();
+            List<Visitor> objects = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                Visitor v = new Visitor("Visitor " + i, "visitor" + i + "@example.com", "555-" + (1_000_000 + i));
+                v.setMailingListConsent((i & 1) == 0);
+                for (int c = 0; c < CHECK_INS_PER_VISITOR; c++) {
+                    v.addCheckInRecord(new CheckInRecord(v, event, BenchData.START.plusMinutes(i + c * 7L)));
+                }
+                objects.add(v);
+            }
+            double objectBytes = (double) (usedHeap() - before) / n;
+            sink += objects.size();
+            objects = null;
+
+            before = usedHeap();
+            ColumnarVisitorStore store = new ColumnarVisitorStore();
+            for (int i = 0; i < n; i++) {
+                int id = store.add("Visitor " + i, "visitor" + i + "@example.com", "555-" + (1_000_000 + i));
+                store.setMailingListConsent(id, (i & 1) == 0);
+                for (int c = 0; c < CHECK_INS_PER_VISITOR; c++) {
+                    store.addCheckIn(id, event.getId(), BenchData.START.plusMinutes(i + c * 7L));
+                }
+            }
+            store.trimToSize();
+            double columnarBytes = (double) (usedHeap() - before) / n;
+            sink += store.size();
+
+            System.out.println(String.format("%-16s %10d %14.1f %14.1f %8.2f",
+                    "visitor.memory", n, objectBytes, columnarBytes, objectBytes / columnarBytes));
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // a few rounds: one gc() call doesn't always collect everything
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            used = Math.min(used, rt.totalMemory() - rt.freeMemory());
+        }
+        return used;
+    }
+}